@@ -0,0 +1,321 @@
+package com.automation.drivers;
+
+import com.automation.config.ConfigManager;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.Connection;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs Chrome tests in isolated browser contexts of shared browser processes
+ * Each acquired driver gets its own browser context (incognito-like: separate cookies,
+ * storage and cache) with a single tab, created over the browser's DevTools connection.
+ * A WebDriver session attaches to the running browser through debuggerAddress and is
+ * switched to that tab. One browser process hosts up to browser.contexts.per.process
+ * contexts; more are spread over additional processes. All sessions share one chromedriver.
+ *
+ * Pooled drivers are plain RemoteWebDriver sessions, so DevTools-based features
+ * (failure video, session seeding via DevTools) fall back to their non-DevTools paths.
+ *
+ * Experimental and off by default (browser.contexts.enabled). Contexts separate cookies,
+ * storage and cache, but a session attached through debuggerAddress sees every tab of the
+ * browser: getWindowHandles() lists the tabs of other tests, and switching to or closing them
+ * affects those tests. Only enable it for tests that stay in the tab they were given.
+ */
+public class BrowserContextPool {
+    private static final Duration CDP_TIMEOUT = Duration.ofSeconds(30);
+    private static final List<BrowserHost> hosts = new ArrayList<>();
+    private static final Map<WebDriver, Lease> leases = new ConcurrentHashMap<>();
+    private static ChromeDriverService service;
+    private static boolean shutdownHookAdded;
+    private static boolean warned;
+    
+    /**
+     * Create a driver on a fresh browser context
+     * @return Driver switched to the context's tab
+     */
+    public static WebDriver acquire() {
+        BrowserHost host = reserveHost();
+        String contextId = null;
+        try {
+            Map<String, Object> contextParams = new HashMap<>();
+            contextParams.put("disposeOnDetach", false);
+            contextId = (String) host.send("Target.createBrowserContext", contextParams).get("browserContextId");
+            
+            Map<String, Object> targetParams = new HashMap<>();
+            targetParams.put("url", "about:blank");
+            targetParams.put("browserContextId", contextId);
+            String targetId = (String) host.send("Target.createTarget", targetParams).get("targetId");
+            
+            ChromeOptions options = new ChromeOptions();
+            options.setExperimentalOption("debuggerAddress", host.debuggerAddress);
+            RemoteWebDriver driver = new RemoteWebDriver(getService().getUrl(), options);
+            try {
+                driver.switchTo().window(findWindowHandle(driver, targetId));
+            } catch (RuntimeException e) {
+                driver.quit();
+                throw e;
+            }
+            leases.put(driver, new Lease(host, contextId));
+            return driver;
+        } catch (RuntimeException e) {
+            if (contextId != null) {
+                disposeContext(host, contextId);
+            }
+            releaseHost(host);
+            throw new RuntimeException("Failed to create browser context: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Detach a pooled driver and dispose its browser context, closing its tab
+     * @param driver Driver to release
+     * @return true if the driver came from the pool, false if the caller must quit it itself
+     */
+    public static boolean release(WebDriver driver) {
+        Lease lease = leases.remove(driver);
+        if (lease == null) {
+            return false;
+        }
+        try {
+            // An attached session detaches on quit and leaves the browser running
+            driver.quit();
+        } catch (RuntimeException e) {
+            System.err.println("Failed to detach pooled session: " + e.getMessage());
+        } finally {
+            disposeContext(lease.host, lease.contextId);
+            releaseHost(lease.host);
+        }
+        return true;
+    }
+    
+    /**
+     * Check if a driver is a pooled context session
+     * @param driver Driver
+     * @return true if the driver came from the pool
+     */
+    public static boolean isPooled(WebDriver driver) {
+        return driver != null && leases.containsKey(driver);
+    }
+    
+    /**
+     * Get number of browser processes currently hosting contexts
+     * @return Browser process count
+     */
+    public static synchronized int getHostCount() {
+        return hosts.size();
+    }
+    
+    /**
+     * Quit all host browsers and the shared chromedriver
+     */
+    public static synchronized void shutdown() {
+        for (WebDriver driver : new ArrayList<>(leases.keySet())) {
+            release(driver);
+        }
+        for (BrowserHost host : hosts) {
+            host.close();
+        }
+        hosts.clear();
+        if (service != null) {
+            service.stop();
+            service = null;
+        }
+    }
+    
+    /**
+     * Pick the least-loaded host with a free slot, launching a new browser when all are full
+     * The browser starts outside the class lock; threads that pick a host still starting wait for it
+     * @return Host with one slot reserved
+     */
+    private static BrowserHost reserveHost() {
+        BrowserHost chosen = null;
+        boolean launch = false;
+        synchronized (BrowserContextPool.class) {
+            if (!warned) {
+                System.out.println("Browser contexts are experimental: pooled sessions can see the tabs of other tests");
+                warned = true;
+            }
+            int capacity = Math.max(1, ConfigManager.getBrowserContextsPerProcess());
+            for (BrowserHost host : hosts) {
+                if (host.active < capacity && (chosen == null || host.active < chosen.active)) {
+                    chosen = host;
+                }
+            }
+            if (chosen == null) {
+                chosen = new BrowserHost();
+                hosts.add(chosen);
+                launch = true;
+            }
+            chosen.active++;
+        }
+        
+        if (launch) {
+            try {
+                chosen.launch();
+                chosen.ready.complete(null);
+            } catch (RuntimeException e) {
+                synchronized (BrowserContextPool.class) {
+                    hosts.remove(chosen);
+                }
+                chosen.ready.completeExceptionally(e);
+                throw e;
+            }
+        } else {
+            try {
+                chosen.ready.join();
+            } catch (CompletionException e) {
+                // The host was removed when its launch failed, so its slot needs no release
+                throw new RuntimeException("Shared browser failed to start: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+        return chosen;
+    }
+    
+    private static synchronized void releaseHost(BrowserHost host) {
+        host.active--;
+    }
+    
+    private static void disposeContext(BrowserHost host, String contextId) {
+        try {
+            Map<String, Object> params = new HashMap<>();
+            params.put("browserContextId", contextId);
+            host.send("Target.disposeBrowserContext", params);
+        } catch (RuntimeException e) {
+            System.err.println("Failed to dispose browser context " + contextId + ": " + e.getMessage());
+        }
+    }
+    
+    private static synchronized ChromeDriverService getService() {
+        if (service == null) {
+            WebDriverManager.chromedriver().setup();
+            service = ChromeDriverService.createDefaultService();
+            try {
+                service.start();
+            } catch (IOException e) {
+                service = null;
+                throw new RuntimeException("Failed to start chromedriver: " + e.getMessage(), e);
+            }
+            if (!shutdownHookAdded) {
+                Runtime.getRuntime().addShutdownHook(new Thread(BrowserContextPool::shutdown, "browser-context-pool-shutdown"));
+                shutdownHookAdded = true;
+            }
+        }
+        return service;
+    }
+    
+    /**
+     * Find the window handle of a DevTools target
+     * chromedriver uses the target id as the window handle
+     * @param driver Attached driver
+     * @param targetId Target id
+     * @return Window handle
+     */
+    private static String findWindowHandle(WebDriver driver, String targetId) {
+        for (String handle : driver.getWindowHandles()) {
+            if (handle.equals(targetId) || handle.endsWith(targetId)) {
+                return handle;
+            }
+        }
+        throw new IllegalStateException("Tab " + targetId + " not visible to the attached session");
+    }
+    
+    /**
+     * Browser process shared by several contexts
+     * Fields are set by launch() and published to other threads through ready
+     */
+    private static class BrowserHost {
+        private final CompletableFuture<Void> ready = new CompletableFuture<>();
+        private RemoteWebDriver hostDriver;
+        private String debuggerAddress;
+        private Connection connection;
+        private int active;
+        
+        /**
+         * Start a browser process and open a browser-level DevTools connection to it
+         */
+        void launch() {
+            RemoteWebDriver driver = new RemoteWebDriver(getService().getUrl(), DriverManager.buildChromeOptions());
+            try {
+                Capabilities capabilities = driver.getCapabilities();
+                @SuppressWarnings("unchecked")
+                Map<String, Object> chromeOptions = (Map<String, Object>) capabilities.getCapability("goog:chromeOptions");
+                String address = (String) chromeOptions.get("debuggerAddress");
+                
+                HttpClient httpClient = HttpClient.Factory.createDefault()
+                    .createClient(ClientConfig.defaultConfig().baseUri(URI.create("http://" + address)));
+                HttpResponse response = httpClient.execute(new HttpRequest(HttpMethod.GET, "/json/version"));
+                httpClient.close();
+                Map<String, Object> version = new Json().toType(Contents.string(response), Json.MAP_TYPE);
+                String webSocketUrl = (String) version.get("webSocketDebuggerUrl");
+                
+                HttpClient wsClient = HttpClient.Factory.createDefault()
+                    .createClient(ClientConfig.defaultConfig().baseUri(URI.create(webSocketUrl)));
+                connection = new Connection(wsClient, webSocketUrl);
+                debuggerAddress = address;
+                hostDriver = driver;
+                System.out.println("Launched shared browser for contexts at " + address);
+            } catch (RuntimeException e) {
+                driver.quit();
+                throw e;
+            }
+        }
+        
+        Map<String, Object> send(String method, Map<String, Object> params) {
+            // Browser-level commands carry no target session id
+            return connection.sendAndWait(null, new Command<>(method, params, input -> input.read(Json.MAP_TYPE)), CDP_TIMEOUT);
+        }
+        
+        void close() {
+            // A host still launching is closed by its launching thread if the launch fails
+            if (!ready.isDone() || ready.isCompletedExceptionally()) {
+                return;
+            }
+            try {
+                connection.close();
+            } catch (RuntimeException e) {
+                // Connection already closed
+            }
+            try {
+                hostDriver.quit();
+            } catch (RuntimeException e) {
+                System.err.println("Failed to quit shared browser: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Context handed out with a driver
+     */
+    private static class Lease {
+        private final BrowserHost host;
+        private final String contextId;
+        
+        Lease(BrowserHost host, String contextId) {
+            this.host = host;
+            this.contextId = contextId;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.automation.utilities;
+
+import com.automation.config.ConfigManager;
+import com.automation.drivers.DriverManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Captures and restores logged-in browser state per environment and user
+ * A snapshot holds the cookies, localStorage and sessionStorage of the page that was open
+ * after a successful UI login. Snapshots are cached in memory for browser.state.ttl.seconds
+ * and, with browser.state.persist, saved as JSON so later runs can reuse them too.
+ */
+public class BrowserStateSnapshot {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<String, Map<String, Object>> snapshots = new ConcurrentHashMap<>();
+    private static final String DUMP_STORAGE_SCRIPT =
+        "var dump = function (storage) {"
+        + "  var values = {};"
+        + "  for (var i = 0; i < storage.length; i++) { var key = storage.key(i); values[key] = storage.getItem(key); }"
+        + "  return values;"
+        + "};"
+        + "return [dump(window.localStorage), dump(window.sessionStorage)];";
+    private static final String RESTORE_STORAGE_SCRIPT =
+        "window.localStorage.clear(); window.sessionStorage.clear();"
+        + "for (var key in arguments[0]) { window.localStorage.setItem(key, arguments[0][key]); }"
+        + "for (var key in arguments[1]) { window.sessionStorage.setItem(key, arguments[1][key]); }";
+    
+    /**
+     * Capture the current driver's state for a user
+     * Call once the login has completed, while a page of the application is open
+     * @param username User the state belongs to
+     */
+    @SuppressWarnings("unchecked")
+    public static void capture(String username) {
+        WebDriver driver = requireDriver();
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Cookie cookie : driver.manage().getCookies()) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("name", cookie.getName());
+            values.put("value", cookie.getValue());
+            values.put("domain", cookie.getDomain());
+            values.put("path", cookie.getPath());
+            values.put("expiry", cookie.getExpiry() != null ? cookie.getExpiry().getTime() : null);
+            values.put("secure", cookie.isSecure());
+            values.put("httpOnly", cookie.isHttpOnly());
+            values.put("sameSite", cookie.getSameSite());
+            cookies.add(values);
+        }
+        List<Object> storage = (List<Object>) ((JavascriptExecutor) driver).executeScript(DUMP_STORAGE_SCRIPT);
+        
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("environment", environment());
+        snapshot.put("username", username);
+        snapshot.put("url", driver.getCurrentUrl());
+        snapshot.put("capturedAt", System.currentTimeMillis());
+        snapshot.put("cookies", cookies);
+        snapshot.put("localStorage", storage.get(0));
+        snapshot.put("sessionStorage", storage.get(1));
+        snapshots.put(key(username), snapshot);
+        
+        if (ConfigManager.isBrowserStatePersistEnabled()) {
+            save(username, snapshot);
+        }
+        System.out.println("Captured browser state for " + username + ": " + cookies.size() + " cookies");
+    }
+    
+    /**
+     * Restore a user's snapshot into the current driver, replacing its cookies and storage
+     * Loads the captured page once to get onto the right origin, then reloads it with the state in place
+     * @param username User to restore
+     * @return true if a fresh snapshot was restored, false if none exists or it has expired
+     */
+    @SuppressWarnings("unchecked")
+    public static boolean restore(String username) {
+        Map<String, Object> snapshot = get(username);
+        if (snapshot == null) {
+            return false;
+        }
+        
+        WebDriver driver = requireDriver();
+        driver.get((String) snapshot.get("url"));
+        driver.manage().deleteAllCookies();
+        long now = System.currentTimeMillis();
+        for (Map<String, Object> values : (List<Map<String, Object>>) snapshot.get("cookies")) {
+            Number expiry = (Number) values.get("expiry");
+            if (expiry != null && expiry.longValue() <= now) {
+                continue;
+            }
+            driver.manage().addCookie(new Cookie.Builder((String) values.get("name"), (String) values.get("value"))
+                .domain((String) values.get("domain"))
+                .path((String) values.get("path"))
+                .expiresOn(expiry != null ? new Date(expiry.longValue()) : null)
+                .isSecure(Boolean.TRUE.equals(values.get("secure")))
+                .isHttpOnly(Boolean.TRUE.equals(values.get("httpOnly")))
+                .sameSite((String) values.get("sameSite"))
+                .build());
+        }
+        ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT,
+            snapshot.get("localStorage"), snapshot.get("sessionStorage"));
+        driver.navigate().refresh();
+        return true;
+    }
+    
+    /**
+     * Restore a user's snapshot, or log in through the UI and capture a new one
+     * The probe runs after a restore; when it reports the state has gone stale the snapshot
+     * is dropped and the login runs again.
+     * @param username User to log in as
+     * @param login Performs the UI login and waits until it has completed
+     * @param isLoggedIn Probe that checks the restored state is still accepted by the application
+     * @return true if the snapshot was reused, false if the UI login ran
+     */
+    public static boolean restoreOrLogin(String username, Runnable login, BooleanSupplier isLoggedIn) {
+        if (restore(username)) {
+            if (isLoggedIn.getAsBoolean()) {
+                return true;
+            }
+            System.out.println("Browser state for " + username + " is stale, logging in again");
+            invalidate(username);
+        }
+        login.run();
+        capture(username);
+        return false;
+    }
+    
+    /**
+     * Drop a user's snapshot from memory and disk
+     * @param username User
+     */
+    public static void invalidate(String username) {
+        snapshots.remove(key(username));
+        try {
+            Files.deleteIfExists(snapshotFile(username));
+        } catch (IOException e) {
+            System.err.println("Failed to delete browser state for " + username + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Drop all in-memory snapshots
+     */
+    public static void clearCache() {
+        snapshots.clear();
+    }
+    
+    /**
+     * Get a user's unexpired snapshot from memory, falling back to disk when persistence is enabled
+     * @param username User
+     * @return Snapshot, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> get(String username) {
+        Map<String, Object> snapshot = snapshots.get(key(username));
+        if (snapshot == null && ConfigManager.isBrowserStatePersistEnabled()) {
+            Path file = snapshotFile(username);
+            if (Files.exists(file)) {
+                try {
+                    snapshot = MAPPER.readValue(file.toFile(), Map.class);
+                    snapshots.put(key(username), snapshot);
+                } catch (IOException e) {
+                    System.err.println("Failed to load browser state for " + username + ": " + e.getMessage());
+                }
+            }
+        }
+        
+        if (snapshot != null) {
+            long age = System.currentTimeMillis() - ((Number) snapshot.get("capturedAt")).longValue();
+            if (age >= ConfigManager.getBrowserStateTtlSeconds() * 1000L) {
+                invalidate(username);
+                return null;
+            }
+        }
+        return snapshot;
+    }
+    
+    private static void save(String username, Map<String, Object> snapshot) {
+        Path file = snapshotFile(username);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            MAPPER.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Failed to save browser state for " + username + ": " + e.getMessage());
+        }
+    }
+    
+    private static Path snapshotFile(String username) {
+        return Paths.get(ConfigManager.getBrowserStatePath(), environment(),
+            username.replaceAll("[^A-Za-z0-9._@-]", "_") + ".json");
+    }
+    
+    private static String key(String username) {
+        return environment() + "|" + username;
+    }
+    
+    private static String environment() {
+        return ConfigManager.getSnapshot().getEnvironment();
+    }
+    
+    private static WebDriver requireDriver() {
+        WebDriver driver = DriverManager.getDriver();
+        if (driver == null) {
+            throw new RuntimeException("No driver available for browser state, initialize the driver first");
+        }
+        return driver;
+    }
+}
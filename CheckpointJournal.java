@@ -0,0 +1,377 @@
+package com.automation.utilities;
+
+import com.automation.config.ConfigManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only journal of completed data-driven test rows, used to resume an interrupted run
+ * Each finished (test method, data row) pair is appended as one tab-separated line:
+ *   status, method key, row hash, duration, finish time, parameters, reason
+ * where parameters are rendered by describe() (by default only the row hash), status is P (passed), F (failed) or S (skipped) and the row hash identifies the row by
+ * its parameter values, so rows keep their identity if the sheet is reordered. Test threads only
+ * enqueue lines; a single writer thread appends them and fsyncs at most every
+ * checkpoint.fsync.interval.ms, so a crash loses at most that window, which simply runs again.
+ * With checkpoint.resume the previous journal is loaded first and new lines are appended to it.
+ */
+public class CheckpointJournal {
+    private static final int FIELD_COUNT = 7;
+    private static final int MAX_TEXT_LENGTH = 500;
+    private static final String HEADER_PREFIX = "#checkpoint v1";
+    private static final Object STOP = new Object();
+    private static BlockingQueue<Object> queue;
+    private static Thread writer;
+    private static Path journalFile;
+    private static final Map<String, Deque<Entry>> completed = new HashMap<>();
+    private static int loadedEntries;
+    
+    /**
+     * Open the journal for a suite
+     * Starts a new journal, or loads and continues the existing one when resuming
+     * @param suiteName Suite name, used as file name
+     * @param resume true to load completed rows from a previous run
+     */
+    public static synchronized void open(String suiteName, boolean resume) {
+        if (writer != null) {
+            return;
+        }
+        Path dir = Paths.get(ConfigManager.getCheckpointPath());
+        journalFile = dir.resolve(suiteName.replaceAll("[^A-Za-z0-9._-]", "_") + ".journal");
+        completed.clear();
+        loadedEntries = 0;
+        
+        FileChannel channel;
+        try {
+            Files.createDirectories(dir);
+            if (resume && Files.exists(journalFile)) {
+                load(journalFile, ConfigManager.isCheckpointRerunFailedEnabled());
+                channel = FileChannel.open(journalFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                channel.position(channel.size());
+                // A crash can leave a torn last line; new lines must not be glued onto it
+                ByteBuffer last = ByteBuffer.allocate(1);
+                if (channel.size() > 0 && channel.read(last, channel.size() - 1) == 1 && last.get(0) != '\n') {
+                    channel.write(ByteBuffer.wrap(new byte[] {'\n'}));
+                }
+            } else {
+                channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to open checkpoint journal " + journalFile + ": " + e.getMessage());
+            return;
+        }
+        
+        queue = new LinkedBlockingQueue<>();
+        queue.add(HEADER_PREFIX + " suite=" + escape(suiteName) + " started=" + Instant.now() + (resume ? " resumed" : ""));
+        long interval = Math.max(1, ConfigManager.getCheckpointFsyncIntervalMillis());
+        BlockingQueue<Object> lines = queue;
+        writer = new Thread(() -> writeLoop(channel, lines, interval), "checkpoint-journal");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(CheckpointJournal::close, "checkpoint-journal-shutdown"));
+        System.out.println("Checkpoint journal: " + journalFile.toAbsolutePath()
+            + (resume ? " (resuming, " + loadedEntries + " completed row(s) loaded)" : ""));
+    }
+    
+    /**
+     * Append a finished row; never blocks on disk
+     * @param methodKey Method key (class#method)
+     * @param parameters Data row parameters
+     * @param status P, F or S
+     * @param durationMillis Test duration
+     * @param reason Failure or skip reason, may be null
+     */
+    public static void record(String methodKey, Object[] parameters, char status, long durationMillis, String reason) {
+        BlockingQueue<Object> current = queue;
+        if (current == null) {
+            return;
+        }
+        current.add(String.join("\t", String.valueOf(status), escape(methodKey), rowHash(parameters),
+            String.valueOf(durationMillis), String.valueOf(System.currentTimeMillis()),
+            escape(truncate(describe(parameters))), escape(truncate(reason))));
+    }
+    
+    /**
+     * Take the previous result of a row completed before the resume, if any
+     * Each journal entry is handed out once, so repeated identical rows are matched one by one
+     * @param methodKey Method key (class#method)
+     * @param parameters Data row parameters
+     * @return Previous result, or null if the row has to run
+     */
+    public static synchronized Entry takeCompleted(String methodKey, Object[] parameters) {
+        Deque<Entry> entries = completed.get(methodKey + "\t" + rowHash(parameters));
+        return entries == null ? null : entries.poll();
+    }
+    
+    /**
+     * Check if completed rows from a previous run are loaded
+     * @return true when resuming with a non-empty journal
+     */
+    public static synchronized boolean isResuming() {
+        return loadedEntries > 0;
+    }
+    
+    /**
+     * Get the journal file
+     * @return Journal path, or null before open
+     */
+    public static synchronized Path getJournalFile() {
+        return journalFile;
+    }
+    
+    /**
+     * Write and fsync everything recorded so far and stop the writer
+     */
+    public static void close() {
+        Thread current;
+        synchronized (CheckpointJournal.class) {
+            current = writer;
+            if (current == null) {
+                return;
+            }
+            queue.add(STOP);
+            writer = null;
+            queue = null;
+        }
+        try {
+            current.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Render a data row for reports and logs without exposing credentials
+     * report.parameters=hash (default) shows only the row hash; masked shows the values but hides
+     * map entries whose key contains one of report.masked.keys; plain shows the values as they are.
+     * Masking only sees keyed values, so rows passing credentials positionally need hash.
+     * @param parameters Data row parameters
+     * @return Rendered row
+     */
+    public static String describe(Object[] parameters) {
+        switch (ConfigManager.getReportParametersMode().toLowerCase()) {
+            case "plain":
+                return Arrays.deepToString(parameters);
+            case "masked":
+                return mask(parameters, ConfigManager.getReportMaskedKeys());
+            default:
+                return "row " + rowHash(parameters);
+        }
+    }
+    
+    private static String mask(Object value, List<String> maskedKeys) {
+        if (value instanceof Map) {
+            StringJoiner joiner = new StringJoiner(", ", "{", "}");
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                String key = String.valueOf(entry.getKey());
+                String lowerKey = key.toLowerCase();
+                boolean secret = maskedKeys.stream().anyMatch(maskedKey -> lowerKey.contains(maskedKey.toLowerCase()));
+                joiner.add(key + "=" + (secret ? "****" : mask(entry.getValue(), maskedKeys)));
+            }
+            return joiner.toString();
+        }
+        if (value instanceof Object[]) {
+            StringJoiner joiner = new StringJoiner(", ", "[", "]");
+            for (Object element : (Object[]) value) {
+                joiner.add(mask(element, maskedKeys));
+            }
+            return joiner.toString();
+        }
+        return String.valueOf(value);
+    }
+    
+    /**
+     * Identify a data row by its parameter values
+     * @param parameters Data row parameters
+     * @return First 8 bytes of the SHA-256 of the rendered parameters, as hex
+     */
+    public static String rowHash(Object[] parameters) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(Arrays.deepToString(parameters).getBytes(StandardCharsets.UTF_8));
+            char[] hex = new char[16];
+            for (int i = 0; i < 8; i++) {
+                hex[i * 2] = Character.forDigit((digest[i] >> 4) & 0xf, 16);
+                hex[i * 2 + 1] = Character.forDigit(digest[i] & 0xf, 16);
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+    
+    /**
+     * Group commit loop: append whatever is queued, fsync once per interval
+     */
+    private static void writeLoop(FileChannel channel, BlockingQueue<Object> lines, long intervalMillis) {
+        List<Object> batch = new ArrayList<>();
+        long lastSync = System.nanoTime();
+        boolean unsynced = false;
+        boolean stopping = false;
+        try {
+            while (!stopping) {
+                Object first = lines.poll(intervalMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    lines.drainTo(batch);
+                    StringBuilder text = new StringBuilder();
+                    for (Object line : batch) {
+                        if (line == STOP) {
+                            stopping = true;
+                        } else {
+                            text.append(line).append('\n');
+                        }
+                    }
+                    batch.clear();
+                    ByteBuffer bytes = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+                    while (bytes.hasRemaining()) {
+                        channel.write(bytes);
+                    }
+                    unsynced = unsynced || text.length() > 0;
+                }
+                if (unsynced && (stopping || System.nanoTime() - lastSync >= TimeUnit.MILLISECONDS.toNanos(intervalMillis))) {
+                    channel.force(false);
+                    lastSync = System.nanoTime();
+                    unsynced = false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("Checkpoint journal write failed: " + e.getMessage());
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close checkpoint journal: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Load completed rows from an existing journal; a torn last line from a crash is ignored
+     * @param file Journal file
+     * @param rerunFailed true to treat failed rows as not completed
+     */
+    private static void load(Path file, boolean rerunFailed) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\t", -1);
+                if (fields.length != FIELD_COUNT || fields[0].length() != 1) {
+                    continue;
+                }
+                char status = fields[0].charAt(0);
+                if (status == 'S' || (status == 'F' && rerunFailed)) {
+                    continue;
+                }
+                try {
+                    Entry entry = new Entry(status, unescape(fields[1]), Long.parseLong(fields[3]),
+                        Long.parseLong(fields[4]), unescape(fields[5]), unescape(fields[6]));
+                    completed.computeIfAbsent(entry.methodKey + "\t" + fields[2], key -> new ArrayDeque<>()).add(entry);
+                    loadedEntries++;
+                } catch (NumberFormatException e) {
+                    // Torn line
+                }
+            }
+        }
+    }
+    
+    private static String truncate(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) + "..." : text;
+    }
+    
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+    
+    private static String unescape(String text) {
+        if (text.indexOf('\\') < 0) {
+            return text;
+        }
+        StringBuilder plain = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char next = text.charAt(++i);
+                plain.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                plain.append(c);
+            }
+        }
+        return plain.toString();
+    }
+    
+    /**
+     * Result of a row completed in an earlier run
+     */
+    public static class Entry {
+        private final char status;
+        private final String methodKey;
+        private final long durationMillis;
+        private final long finishedMillis;
+        private final String parameters;
+        private final String reason;
+        
+        Entry(char status, String methodKey, long durationMillis, long finishedMillis, String parameters, String reason) {
+            this.status = status;
+            this.methodKey = methodKey;
+            this.durationMillis = durationMillis;
+            this.finishedMillis = finishedMillis;
+            this.parameters = parameters;
+            this.reason = reason;
+        }
+        
+        public boolean isPassed() {
+            return status == 'P';
+        }
+        
+        public String getMethodKey() {
+            return methodKey;
+        }
+        
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+        
+        public Instant getFinishedAt() {
+            return Instant.ofEpochMilli(finishedMillis);
+        }
+        
+        public String getParameters() {
+            return parameters;
+        }
+        
+        public String getReason() {
+            return reason;
+        }
+    }
+}
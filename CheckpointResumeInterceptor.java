@@ -0,0 +1,69 @@
+package com.automation.listeners;
+
+import com.automation.utilities.CheckpointJournal;
+import com.automation.utilities.DurationHistory;
+import com.automation.utilities.EventLog;
+import com.automation.utilities.StreamingReporter;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Skips data rows that completed in an interrupted earlier run
+ * Active when checkpoint.resume loaded a journal. Rows found in the CheckpointJournal are
+ * removed from the data provider and their earlier results are added to the streaming report,
+ * so the final report covers the whole data set. Register after ShardSelector so shards are
+ * split on the full sheet before completed rows are removed.
+ */
+public class CheckpointResumeInterceptor implements IDataProviderInterceptor {
+    
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext iTestContext) {
+        if (!CheckpointJournal.isResuming()) {
+            return original;
+        }
+        
+        String key = DurationHistory.key(method.getRealClass().getName(), method.getMethodName());
+        List<Object[]> remaining = new ArrayList<>();
+        int skipped = 0;
+        while (original.hasNext()) {
+            Object[] parameters = original.next();
+            CheckpointJournal.Entry previous = CheckpointJournal.takeCompleted(key, parameters);
+            if (previous == null) {
+                remaining.add(parameters);
+                continue;
+            }
+            skipped++;
+            
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("test", method.getMethodName());
+            fields.put("class", method.getTestClass().getName());
+            fields.put("parameters", previous.getParameters());
+            fields.put("durationMillis", previous.getDurationMillis());
+            if (!previous.isPassed()) {
+                fields.put("reason", previous.getReason());
+            }
+            StreamingReporter.appendResumed(previous.isPassed() ? "test_success" : "test_failure",
+                previous.getFinishedAt(), fields);
+        }
+        
+        if (skipped > 0) {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("method", key);
+            fields.put("completedRows", skipped);
+            fields.put("remainingRows", remaining.size());
+            fields.put("message", String.format("Resuming %s: %d row(s) already completed, %d to run",
+                key, skipped, remaining.size()));
+            EventLog.publish("checkpoint_resume", fields);
+        }
+        return remaining.iterator();
+    }
+}
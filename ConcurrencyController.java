@@ -0,0 +1,207 @@
+package com.automation.drivers;
+
+import com.automation.config.ConfigManager;
+import com.automation.utilities.EventLog;
+import com.automation.utilities.ResourceMonitor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits how many browser sessions are open at once and adapts the limit to the machine
+ * DriverManager takes a slot before starting a browser and gives it back on quit. The limit
+ * starts from the core count and the sessions that fit in free memory, then is re-evaluated
+ * every concurrency.sample.interval.ms: it drops by a quarter when the load average per core
+ * or free memory crosses its threshold, and grows by one while tests are waiting for a slot
+ * and there is headroom for another session. Every change is published as an event.
+ */
+public class ConcurrencyController {
+    private static final long MB = 1024L * 1024L;
+    private static final ThreadLocal<Boolean> holdsSlot = new ThreadLocal<>();
+    private static final AtomicInteger leased = new AtomicInteger();
+    private static ResizableSemaphore slots;
+    private static volatile int limit;
+    private static volatile long sessionFootprintBytes;
+    private static ScheduledExecutorService sampler;
+    
+    /**
+     * Wait for a browser session slot for the current thread
+     * Does nothing when adaptive concurrency is disabled or the thread already holds a slot
+     */
+    public static void acquire() {
+        if (!ConfigManager.isAdaptiveConcurrencyEnabled() || Boolean.TRUE.equals(holdsSlot.get())) {
+            return;
+        }
+        ResizableSemaphore semaphore = getSlots();
+        try {
+            if (!semaphore.tryAcquire(ConfigManager.getConcurrencyAcquireTimeoutSeconds(), TimeUnit.SECONDS)) {
+                throw new RuntimeException("Timed out waiting for a browser session slot, limit " + limit);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a browser session slot", e);
+        }
+        leased.incrementAndGet();
+        holdsSlot.set(Boolean.TRUE);
+    }
+    
+    /**
+     * Give back the current thread's browser session slot
+     */
+    public static void release() {
+        if (!Boolean.TRUE.equals(holdsSlot.get())) {
+            return;
+        }
+        holdsSlot.remove();
+        leased.decrementAndGet();
+        slots.release();
+    }
+    
+    /**
+     * Check if the current thread holds a browser session slot
+     * @return true if a slot is held
+     */
+    static boolean holdsSlot() {
+        return Boolean.TRUE.equals(holdsSlot.get());
+    }
+    
+    /**
+     * Give back the slot of a session whose owning thread died without quitting it
+     */
+    static void releaseAbandoned() {
+        leased.decrementAndGet();
+        slots.release();
+    }
+    
+    /**
+     * Get the current concurrency limit
+     * @return Maximum concurrent sessions, 0 before the controller has started
+     */
+    public static int getLimit() {
+        return limit;
+    }
+    
+    /**
+     * Get number of sessions currently holding a slot
+     * @return Leased slots
+     */
+    public static int getLeased() {
+        return leased.get();
+    }
+    
+    private static synchronized ResizableSemaphore getSlots() {
+        if (slots == null) {
+            sessionFootprintBytes = ConfigManager.getConcurrencySessionMemoryMb() * MB;
+            int cores = Runtime.getRuntime().availableProcessors();
+            int initial = Math.min(cores, ConfigManager.getConcurrencyMaxSessions());
+            long available = ResourceMonitor.getMemAvailableBytes();
+            if (available > 0) {
+                long reserve = ConfigManager.getConcurrencyMemoryReserveMb() * MB;
+                initial = (int) Math.min(initial, (available - reserve) / sessionFootprintBytes);
+            }
+            limit = Math.max(1, initial);
+            slots = new ResizableSemaphore(limit);
+            log("concurrency_start", limit, limit, "initial size from " + cores + " cores and "
+                + (available / MB) + " MB available");
+            
+            long interval = Math.max(500, ConfigManager.getConcurrencySampleIntervalMillis());
+            sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "concurrency-controller");
+                thread.setDaemon(true);
+                return thread;
+            });
+            sampler.scheduleWithFixedDelay(ConcurrencyController::adjust, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        return slots;
+    }
+    
+    /**
+     * Re-evaluate the limit from current load, free memory and measured session footprint
+     */
+    private static synchronized void adjust() {
+        try {
+            int cores = Runtime.getRuntime().availableProcessors();
+            OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+            double loadAverage = os.getSystemLoadAverage();
+            double loadPerCore = loadAverage < 0 ? -1 : loadAverage / cores;
+            long available = ResourceMonitor.getMemAvailableBytes();
+            long reserve = ConfigManager.getConcurrencyMemoryReserveMb() * MB;
+            int sessions = leased.get();
+            
+            // Drivers and browsers are this JVM's child processes, so their RSS split over the open sessions is the footprint
+            if (sessions > 0) {
+                long measured = ResourceMonitor.getChildProcessRssBytes() / sessions;
+                if (measured > 0) {
+                    sessionFootprintBytes = (sessionFootprintBytes + measured) / 2;
+                }
+            }
+            
+            double maxLoad = ConfigManager.getConcurrencyMaxLoadPerCore();
+            boolean memoryPressure = available > 0 && available < reserve;
+            boolean overloaded = loadPerCore > maxLoad;
+            boolean roomForOne = (available == 0 || available - reserve >= sessionFootprintBytes)
+                && (loadPerCore < 0 || loadPerCore < maxLoad * 0.8);
+            boolean demand = slots.getQueueLength() > 0 && sessions >= limit;
+            
+            int newLimit = limit;
+            String reason = null;
+            if ((memoryPressure || overloaded) && limit > 1) {
+                newLimit = Math.max(1, Math.min(limit - 1, (int) Math.floor(limit * 0.75)));
+                reason = memoryPressure ? "free memory below reserve" : "load above " + maxLoad + " per core";
+            } else if (demand && roomForOne && limit < ConfigManager.getConcurrencyMaxSessions()) {
+                newLimit = limit + 1;
+                reason = "tests waiting and headroom for another session";
+            }
+            
+            if (newLimit != limit) {
+                int previous = limit;
+                if (newLimit > limit) {
+                    slots.release(newLimit - limit);
+                } else {
+                    // Sessions above the new limit finish normally; their slots are simply not handed out again
+                    slots.reduce(limit - newLimit);
+                }
+                limit = newLimit;
+                log("concurrency_adjusted", previous, newLimit, String.format(
+                    "%s (load %.2f/core, %d MB available, %d MB/session, %d open)", reason,
+                    loadPerCore, available / MB, sessionFootprintBytes / MB, sessions));
+            }
+        } catch (Exception e) {
+            System.err.println("Concurrency adjustment failed: " + e.getMessage());
+        }
+    }
+    
+    private static void log(String type, int previous, int current, String reason) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("previousLimit", previous);
+        fields.put("limit", current);
+        fields.put("leased", leased.get());
+        fields.put("sessionFootprintMb", sessionFootprintBytes / MB);
+        fields.put("reason", reason);
+        fields.put("message", "Concurrency limit " + (previous == current ? current : previous + " -> " + current)
+            + ": " + reason);
+        EventLog.publish(type, fields);
+    }
+    
+    /**
+     * Semaphore whose permit count can shrink while permits are held
+     */
+    private static class ResizableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+        
+        ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+        
+        void reduce(int permits) {
+            reducePermits(permits);
+        }
+    }
+}
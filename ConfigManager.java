@@ -1,49 +1,265 @@
 package com.automation.config;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Configuration Manager for handling application properties
- * Supports multiple environments and runtime property overrides
+ * Supports multiple environments and runtime property overrides.
+ * Configuration is resolved into an immutable ConfigSnapshot published through a
+ * volatile reference, so lookups take no locks; reload() swaps in a new snapshot.
  */
 public class ConfigManager {
-    private static Properties properties;
-    private static final String CONFIG_FILE_PATH = "src/main/resources/config/config.properties";
+    private static final String CONFIG_RESOURCE = "config/config.properties";
+    private static final String PROFILE_RESOURCE = "config/config-%s.properties";
+    private static final String CONFIG_FILE_PATH = "src/main/resources/" + CONFIG_RESOURCE;
+    private static final long RELOAD_DEBOUNCE_MILLIS = 200;
+    private static final List<Consumer<ConfigSnapshot>> reloadListeners = new CopyOnWriteArrayList<>();
+    private static volatile ConfigSnapshot snapshot;
+    private static volatile List<Path> loadedFiles = new ArrayList<>();
+    private static Thread watcherThread;
     
     static {
         loadProperties();
+        if (snapshot.getBoolean("config.hot.reload", false)) {
+            startWatcher();
+        }
     }
     
     /**
-     * Load properties from configuration file
+     * Load properties from configuration sources and publish a new snapshot
+     * The base file is read from the classpath, falling back to the source tree;
+     * -Dconfig.file points at an explicit file instead
      */
     private static void loadProperties() {
-        properties = new Properties();
-        try {
-            FileInputStream fileInputStream = new FileInputStream(CONFIG_FILE_PATH);
-            properties.load(fileInputStream);
-            fileInputStream.close();
+        List<String> sources = new ArrayList<>();
+        List<Path> files = new ArrayList<>();
+        
+        Properties fileProperties = new Properties();
+        String explicitFile = System.getProperty("config.file");
+        boolean loaded = explicitFile != null
+            ? loadFile(Paths.get(explicitFile), fileProperties, sources, files)
+            : loadResource(CONFIG_RESOURCE, fileProperties, sources, files)
+                || loadFile(Paths.get(CONFIG_FILE_PATH), fileProperties, sources, files);
+        if (!loaded) {
+            throw new RuntimeException("Failed to load configuration properties: "
+                + (explicitFile != null ? explicitFile : CONFIG_RESOURCE) + " not found");
+        }
+        
+        // Environment profile overlays the base file, e.g. config/config-staging.properties
+        Properties systemProperties = System.getProperties();
+        String environment = systemProperties.getProperty("environment", fileProperties.getProperty("environment", "dev"));
+        Properties profileProperties = new Properties();
+        String profileResource = String.format(PROFILE_RESOURCE, environment);
+        Path baseDir = files.isEmpty() ? null : files.get(0).getParent();
+        if (baseDir != null && Files.exists(baseDir.resolve(Paths.get(profileResource).getFileName()))) {
+            loadFile(baseDir.resolve(Paths.get(profileResource).getFileName()), profileProperties, sources, files);
+        } else {
+            loadResource(profileResource, profileProperties, sources, files);
+        }
+        
+        sources.add("system properties");
+        snapshot = new ConfigSnapshot(fileProperties, profileProperties, (Properties) systemProperties.clone(), sources);
+        loadedFiles = files;
+    }
+    
+    /**
+     * Load a classpath resource into the given properties
+     * @return true if the resource exists
+     */
+    private static boolean loadResource(String resource, Properties target, List<String> sources, List<Path> files) {
+        URL url = ConfigManager.class.getClassLoader().getResource(resource);
+        if (url == null) {
+            return false;
+        }
+        
+        try (InputStream inputStream = url.openStream()) {
+            target.load(inputStream);
         } catch (IOException e) {
             throw new RuntimeException("Failed to load configuration properties: " + e.getMessage());
         }
+        sources.add(url.toString());
+        
+        // Resources on disk (target/classes, IDE output) can be watched for changes
+        if ("file".equals(url.getProtocol())) {
+            try {
+                files.add(Paths.get(url.toURI()));
+            } catch (URISyntaxException e) {
+                // Not watchable, still loaded
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Load a properties file into the given properties
+     * @return true if the file exists
+     */
+    private static boolean loadFile(Path file, Properties target, List<String> sources, List<Path> files) {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            target.load(inputStream);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load configuration properties: " + e.getMessage());
+        }
+        Path absolute = file.toAbsolutePath().normalize();
+        sources.add(absolute.toString());
+        files.add(absolute);
+        return true;
+    }
+    
+    /**
+     * Re-read all configuration sources, including current system properties,
+     * swap in the new snapshot and notify reload listeners
+     * @return New snapshot
+     */
+    public static synchronized ConfigSnapshot reload() {
+        loadProperties();
+        ConfigSnapshot current = snapshot;
+        for (Consumer<ConfigSnapshot> listener : reloadListeners) {
+            try {
+                listener.accept(current);
+            } catch (Exception e) {
+                System.err.println("Configuration reload listener failed: " + e.getMessage());
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * Register a listener called with the new snapshot after every reload
+     * @param listener Reload listener
+     */
+    public static void addReloadListener(Consumer<ConfigSnapshot> listener) {
+        reloadListeners.add(listener);
+    }
+    
+    /**
+     * Remove a reload listener
+     * @param listener Reload listener
+     */
+    public static void removeReloadListener(Consumer<ConfigSnapshot> listener) {
+        reloadListeners.remove(listener);
+    }
+    
+    /**
+     * Get the current configuration snapshot
+     * @return Current snapshot
+     */
+    public static ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+    
+    /**
+     * Watch the loaded configuration files and reload when one changes
+     * Does nothing if hot reload is already running or no source is a plain file
+     */
+    public static synchronized void startWatcher() {
+        if (watcherThread != null) {
+            return;
+        }
+        
+        Set<Path> directories = new HashSet<>();
+        for (Path file : loadedFiles) {
+            directories.add(file.getParent());
+        }
+        if (directories.isEmpty()) {
+            System.err.println("Configuration hot reload disabled: no file-based configuration source");
+            return;
+        }
+        
+        try {
+            WatchService watchService = FileSystems.getDefault().newWatchService();
+            for (Path directory : directories) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+            watcherThread = new Thread(() -> watch(watchService), "config-watcher");
+            watcherThread.setDaemon(true);
+            watcherThread.start();
+        } catch (IOException e) {
+            System.err.println("Failed to start configuration watcher: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Watcher loop: reload once per burst of changes to a configuration file
+     * @param watchService Registered watch service
+     */
+    private static void watch(WatchService watchService) {
+        try (WatchService service = watchService) {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path && isConfigFile((Path) key.watchable(), (Path) event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+                
+                if (changed) {
+                    // Editors often write in several steps; let the burst settle
+                    Thread.sleep(RELOAD_DEBOUNCE_MILLIS);
+                    drainEvents(service);
+                    try {
+                        reload();
+                        System.out.println("Configuration reloaded from " + snapshot.getSources());
+                    } catch (RuntimeException e) {
+                        System.err.println("Configuration reload failed, keeping previous values: " + e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Watcher stopped
+        } catch (IOException e) {
+            System.err.println("Configuration watcher failed: " + e.getMessage());
+        }
+    }
+    
+    private static void drainEvents(WatchService service) {
+        WatchKey key;
+        while ((key = service.poll()) != null) {
+            key.pollEvents();
+            key.reset();
+        }
+    }
+    
+    private static boolean isConfigFile(Path directory, Path fileName) {
+        Path changed = directory.resolve(fileName);
+        String name = fileName.toString();
+        // A new environment profile next to the base file also counts
+        return loadedFiles.contains(changed) || (name.startsWith("config-") && name.endsWith(".properties"));
     }
     
     /**
      * Get property value with system property override support
+     * System properties are captured when the snapshot is built; call reload() to pick up later changes
      * @param key Property key
      * @return Property value
      */
     public static String getProperty(String key) {
-        // Check system properties first (for runtime overrides)
-        String systemProperty = System.getProperty(key);
-        if (systemProperty != null) {
-            return systemProperty;
-        }
-        
-        // Fall back to config file properties
-        return properties.getProperty(key);
+        return snapshot.get(key);
     }
     
     /**
@@ -53,8 +269,7 @@ public class ConfigManager {
      * @return Property value or default
      */
     public static String getProperty(String key, String defaultValue) {
-        String value = getProperty(key);
-        return value != null ? value : defaultValue;
+        return snapshot.get(key, defaultValue);
     }
     
     /**
@@ -62,7 +277,7 @@ public class ConfigManager {
      * @return Browser name
      */
     public static String getBrowser() {
-        return getProperty("browser", "chrome");
+        return snapshot.getBrowser();
     }
     
     /**
@@ -70,8 +285,7 @@ public class ConfigManager {
      * @return Application URL
      */
     public static String getApplicationUrl() {
-        String environment = getProperty("environment", "dev");
-        return getProperty("app.url." + environment);
+        return snapshot.getApplicationUrl();
     }
     
     /**
@@ -79,7 +293,7 @@ public class ConfigManager {
      * @return Implicit wait in seconds
      */
     public static int getImplicitWait() {
-        return Integer.parseInt(getProperty("implicit.wait", "10"));
+        return snapshot.getImplicitWait();
     }
     
     /**
@@ -87,7 +301,7 @@ public class ConfigManager {
      * @return Explicit wait in seconds
      */
     public static int getExplicitWait() {
-        return Integer.parseInt(getProperty("explicit.wait", "20"));
+        return snapshot.getExplicitWait();
     }
     
     /**
@@ -95,7 +309,7 @@ public class ConfigManager {
      * @return true if headless mode is enabled
      */
     public static boolean isHeadless() {
-        return Boolean.parseBoolean(getProperty("headless", "false"));
+        return snapshot.isHeadless();
     }
     
     /**
@@ -122,6 +336,54 @@ public class ConfigManager {
         return getProperty("db.password");
     }
     
+    /**
+     * Get JDBC driver class name
+     * @return Driver class name
+     */
+    public static String getDatabaseDriver() {
+        return getProperty("db.driver");
+    }
+    
+    /**
+     * Get maximum number of pooled database connections
+     * @return Pool size
+     */
+    public static int getDatabasePoolSize() {
+        return snapshot.getInt("db.pool.size", 5);
+    }
+    
+    /**
+     * Get how long to wait for a free pooled connection
+     * @return Timeout in seconds
+     */
+    public static int getDatabasePoolTimeout() {
+        return snapshot.getInt("db.pool.timeout", 30);
+    }
+    
+    /**
+     * Get number of prepared statements cached per pooled connection
+     * @return Statement cache size
+     */
+    public static int getDatabaseStatementCacheSize() {
+        return snapshot.getInt("db.statement.cache.size", 50);
+    }
+    
+    /**
+     * Get number of rows per JDBC batch when loading fixtures
+     * @return Batch size
+     */
+    public static int getDatabaseBatchSize() {
+        return snapshot.getInt("db.batch.size", 500);
+    }
+    
+    /**
+     * Check if each test's database work is rolled back after the test
+     * @return true if per-test rollback is enabled
+     */
+    public static boolean isDatabaseTestRollbackEnabled() {
+        return snapshot.getBoolean("db.test.rollback", false);
+    }
+    
     /**
      * Get reports directory path
      * @return Reports directory path
@@ -135,7 +397,7 @@ public class ConfigManager {
      * @return Screenshots directory path
      */
     public static String getScreenshotsPath() {
-        return getProperty("screenshots.path", "./screenshots");
+        return snapshot.getScreenshotsPath();
     }
     
     /**
@@ -143,6 +405,665 @@ public class ConfigManager {
      * @return true if screenshots are enabled
      */
     public static boolean isScreenshotsEnabled() {
-        return Boolean.parseBoolean(getProperty("enable.screenshots", "true"));
+        return snapshot.isScreenshotsEnabled();
+    }
+    
+    /**
+     * Check if screenshots are stored once per distinct content
+     * @return true if the content-addressed screenshot store is enabled
+     */
+    public static boolean isScreenshotDedupEnabled() {
+        return snapshot.isScreenshotDedupEnabled();
+    }
+    
+    /**
+     * Get number of background screenshot writer threads
+     * @return Writer thread count
+     */
+    public static int getScreenshotWriterThreads() {
+        return snapshot.getInt("screenshot.writer.threads", 1);
+    }
+    
+    /**
+     * Get maximum number of screenshots queued for writing
+     * @return Writer queue capacity
+     */
+    public static int getScreenshotWriterQueueSize() {
+        return snapshot.getInt("screenshot.writer.queue.size", 64);
+    }
+    
+    /**
+     * Get policy applied when the screenshot writer queue is full
+     * @return Overflow policy (block, drop-newest, drop-oldest, caller-runs)
+     */
+    public static String getScreenshotWriterOverflowPolicy() {
+        return getProperty("screenshot.writer.overflow.policy", "block");
+    }
+    
+    /**
+     * Get how long to wait for pending screenshots at suite end
+     * @return Drain timeout in seconds
+     */
+    public static int getScreenshotWriterDrainTimeout() {
+        return snapshot.getInt("screenshot.writer.drain.timeout", 30);
+    }
+    
+    /**
+     * Check if background screenshot retention runs at suite start
+     * @return true if screenshot retention is enabled
+     */
+    public static boolean isScreenshotRetentionEnabled() {
+        return snapshot.getBoolean("screenshot.retention.enabled", false);
+    }
+    
+    /**
+     * Get maximum age of retained screenshots
+     * @return Maximum age in days
+     */
+    public static int getScreenshotRetentionMaxAgeDays() {
+        return snapshot.getInt("screenshot.retention.max.age.days", 7);
+    }
+    
+    /**
+     * Get maximum total size of retained screenshots
+     * @return Maximum size in MB
+     */
+    public static long getScreenshotRetentionMaxSizeMb() {
+        return snapshot.getLong("screenshot.retention.max.size.mb", 1024);
+    }
+    
+    /**
+     * Get interval between retention passes
+     * @return Interval in minutes (0 runs a single pass)
+     */
+    public static int getScreenshotRetentionIntervalMinutes() {
+        return snapshot.getInt("screenshot.retention.interval.minutes", 30);
+    }
+    
+    /**
+     * Get number of threads used to delete expired screenshots
+     * @return Delete thread count
+     */
+    public static int getScreenshotRetentionThreads() {
+        return snapshot.getInt("screenshot.retention.threads", 4);
+    }
+    
+    /**
+     * Check if failure video recording is enabled
+     * @return true if failure video recording is enabled
+     */
+    public static boolean isVideoRecordingEnabled() {
+        return snapshot.getBoolean("enable.video.recording", false);
+    }
+    
+    /**
+     * Get videos directory path
+     * @return Videos directory path
+     */
+    public static String getVideosPath() {
+        return getProperty("videos.path", "./videos");
+    }
+    
+    /**
+     * Get how much recent video each session keeps in memory
+     * @return Ring buffer length in seconds
+     */
+    public static int getVideoBufferSeconds() {
+        return snapshot.getInt("video.buffer.seconds", 30);
+    }
+    
+    /**
+     * Get memory cap for each session's video ring buffer
+     * @return Ring buffer cap in MB
+     */
+    public static int getVideoBufferMaxMb() {
+        return snapshot.getInt("video.buffer.max.mb", 50);
+    }
+    
+    /**
+     * Get JPEG quality of recorded frames
+     * @return Frame quality (0-100)
+     */
+    public static int getVideoFrameQuality() {
+        return snapshot.getInt("video.frame.quality", 60);
+    }
+    
+    /**
+     * Get maximum width of recorded frames
+     * @return Frame width in pixels
+     */
+    public static int getVideoFrameMaxWidth() {
+        return snapshot.getInt("video.frame.max.width", 1280);
+    }
+    
+    /**
+     * Get maximum height of recorded frames
+     * @return Frame height in pixels
+     */
+    public static int getVideoFrameMaxHeight() {
+        return snapshot.getInt("video.frame.max.height", 720);
+    }
+    
+    /**
+     * Get frame sampling rate of the screencast
+     * @return Keep every Nth frame
+     */
+    public static int getVideoEveryNthFrame() {
+        return snapshot.getInt("video.every.nth.frame", 1);
+    }
+    
+    /**
+     * Check if listener events go to the asynchronous JSON-lines event log
+     * @return true if the event log is enabled
+     */
+    public static boolean isEventLogEnabled() {
+        return snapshot.getBoolean("event.log.enabled", true);
+    }
+    
+    /**
+     * Get capacity of the event log ring buffer (rounded up to a power of two)
+     * @return Ring buffer capacity in events
+     */
+    public static int getEventLogQueueSize() {
+        return snapshot.getInt("event.log.queue.size", 8192);
+    }
+    
+    /**
+     * Check if the event log also echoes event messages to the console
+     * @return true if console echo is enabled
+     */
+    public static boolean isEventLogConsoleEnabled() {
+        return snapshot.getBoolean("event.log.console", true);
+    }
+    
+    /**
+     * Check if methods are reordered longest-first from the duration history
+     * @return true if longest-first scheduling is enabled
+     */
+    public static boolean isLongestFirstSchedulingEnabled() {
+        return snapshot.getBoolean("test.scheduling.longest.first", false);
+    }
+    
+    /**
+     * Get test duration history file path
+     * @return History file path
+     */
+    public static String getTestHistoryPath() {
+        return getProperty("test.history.path", "./test-history/durations.json");
+    }
+    
+    /**
+     * Get weight of the latest run in the smoothed test durations
+     * @return Smoothing factor between 0 and 1
+     */
+    public static double getTestHistoryAlpha() {
+        return snapshot.getDouble("test.history.alpha", 0.3);
+    }
+    
+    /**
+     * Get duration assumed for tests when no history exists at all
+     * @return Default duration in milliseconds
+     */
+    public static long getTestHistoryDefaultMillis() {
+        return snapshot.getLong("test.history.default.millis", 30000);
+    }
+    
+    /**
+     * Get number of shards the suite is split into
+     * @return Shard count (1 disables sharding)
+     */
+    public static int getShardCount() {
+        return Math.max(1, snapshot.getInt("shard.count", 1));
+    }
+    
+    /**
+     * Get this JVM's shard index
+     * Falls back to the 1-based Surefire fork number (shard.fork.number) when shard.index is not set
+     * @return Zero-based shard index
+     * @throws IllegalArgumentException if the index is negative or not below shard.count
+     */
+    public static int getShardIndex() {
+        String property = getProperty("shard.index");
+        int index = property != null && !property.isEmpty()
+            ? snapshot.getInt("shard.index", 0)
+            : snapshot.getInt("shard.fork.number", 1) - 1;
+        int count = getShardCount();
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("Shard index " + index + " out of range for shard.count=" + count);
+        }
+        return index;
+    }
+    
+    /**
+     * Check if failed tests are retried when the failure is transient
+     * @return true if retries are enabled
+     */
+    public static boolean isRetryFailedTestsEnabled() {
+        return snapshot.getBoolean("retry.failed.tests", true);
+    }
+    
+    /**
+     * Get maximum retries per test invocation
+     * @return Retry count
+     */
+    public static int getRetryCount() {
+        return snapshot.getInt("retry.count", 2);
+    }
+    
+    /**
+     * Get maximum retries across the whole run
+     * @return Global retry budget
+     */
+    public static int getRetryBudget() {
+        return snapshot.getInt("retry.budget", 10);
+    }
+    
+    /**
+     * Get additional exception class names treated as transient
+     * @return Fully qualified class names
+     */
+    public static List<String> getRetryTransientExceptions() {
+        return snapshot.getList("retry.transient.exceptions", "");
+    }
+    
+    /**
+     * Get cumulative flakiness statistics file path
+     * @return Flakiness file path
+     */
+    public static String getRetryFlakinessPath() {
+        return getProperty("retry.flakiness.path", "./test-history/flakiness.json");
+    }
+    
+    /**
+     * Get API base URL
+     * @return API base URL
+     */
+    public static String getApiBaseUrl() {
+        return getProperty("api.base.url");
+    }
+    
+    /**
+     * Get API request timeout
+     * @return Timeout in seconds
+     */
+    public static int getApiTimeout() {
+        return snapshot.getInt("api.timeout", 30);
+    }
+    
+    /**
+     * Check if tests may seed a logged-in session over HTTP instead of the login form
+     * @return true if session seeding is enabled
+     */
+    public static boolean isSessionSeedingEnabled() {
+        return snapshot.getBoolean("session.seeding.enabled", false);
+    }
+    
+    /**
+     * Get login endpoint path relative to api.base.url
+     * @return Login path
+     */
+    public static String getSessionLoginPath() {
+        return getProperty("session.login.path", "/api/login");
+    }
+    
+    /**
+     * Get JSON field of the login response that holds the auth token
+     * @return Token field name
+     */
+    public static String getSessionTokenField() {
+        return getProperty("session.token.field", "token");
+    }
+    
+    /**
+     * Get localStorage key the auth token is written to (empty disables)
+     * @return localStorage key
+     */
+    public static String getSessionTokenStorageKey() {
+        return getProperty("session.token.storage.key", "");
+    }
+    
+    /**
+     * Get how long a seeded session is reused before logging in again
+     * @return Cache lifetime in seconds
+     */
+    public static int getSessionCacheTtlSeconds() {
+        return snapshot.getInt("session.cache.ttl.seconds", 900);
+    }
+    
+    /**
+     * Get how long a captured browser-state snapshot is reused
+     * @return Snapshot lifetime in seconds
+     */
+    public static int getBrowserStateTtlSeconds() {
+        return snapshot.getInt("browser.state.ttl.seconds", 1800);
+    }
+    
+    /**
+     * Check if browser-state snapshots are also saved to disk
+     * @return true if snapshots are persisted
+     */
+    public static boolean isBrowserStatePersistEnabled() {
+        return snapshot.getBoolean("browser.state.persist", false);
+    }
+    
+    /**
+     * Get browser-state snapshot directory
+     * @return Snapshot directory path
+     */
+    public static String getBrowserStatePath() {
+        return getProperty("browser.state.path", "./browser-state");
+    }
+    
+    /**
+     * Check if page timings are collected after navigations
+     * @return true if performance monitoring is enabled
+     */
+    public static boolean isPerformanceMonitoringEnabled() {
+        return snapshot.getBoolean("performance.monitoring", false);
+    }
+    
+    /**
+     * Get page-load budget used by performance assertions
+     * @return Threshold in milliseconds
+     */
+    public static long getResponseTimeThreshold() {
+        return snapshot.getLong("response.time.threshold", 2000);
+    }
+    
+    /**
+     * Get number of slowest resources kept per navigation
+     * @return Resource count
+     */
+    public static int getPerformanceTopResources() {
+        return snapshot.getInt("performance.top.resources", 5);
+    }
+    
+    /**
+     * Check if browser sessions are sampled for memory and CPU usage
+     * @return true if resource monitoring is enabled
+     */
+    public static boolean isMemoryMonitoringEnabled() {
+        return snapshot.getBoolean("memory.monitoring", false);
+    }
+    
+    /**
+     * Get interval between resource samples of a session
+     * @return Interval in milliseconds
+     */
+    public static long getMemoryMonitoringIntervalMillis() {
+        return snapshot.getLong("memory.monitoring.interval.ms", 1000);
+    }
+    
+    /**
+     * Get number of heaviest tests highlighted in the resource report
+     * @return Test count
+     */
+    public static int getMemoryMonitoringTopTests() {
+        return snapshot.getInt("memory.monitoring.top.tests", 5);
+    }
+    
+    /**
+     * Check if Chrome tests run in browser contexts of shared browser processes (experimental)
+     * @return true if browser contexts are enabled
+     */
+    public static boolean isBrowserContextsEnabled() {
+        return snapshot.getBoolean("browser.contexts.enabled", false);
+    }
+    
+    /**
+     * Get maximum concurrent browser contexts hosted by one browser process
+     * @return Contexts per process
+     */
+    public static int getBrowserContextsPerProcess() {
+        return snapshot.getInt("browser.contexts.per.process", 8);
+    }
+    
+    /**
+     * Check if the number of concurrent browser sessions adapts to machine load
+     * @return true if adaptive concurrency is enabled
+     */
+    public static boolean isAdaptiveConcurrencyEnabled() {
+        return snapshot.getBoolean("concurrency.adaptive", false);
+    }
+    
+    /**
+     * Get upper bound on concurrent browser sessions
+     * @return Maximum sessions (twice the core count when set to 0)
+     */
+    public static int getConcurrencyMaxSessions() {
+        int configured = snapshot.getInt("concurrency.max.sessions", 0);
+        return configured > 0 ? configured : Runtime.getRuntime().availableProcessors() * 2;
+    }
+    
+    /**
+     * Get interval between concurrency adjustments
+     * @return Interval in milliseconds
+     */
+    public static long getConcurrencySampleIntervalMillis() {
+        return snapshot.getLong("concurrency.sample.interval.ms", 5000);
+    }
+    
+    /**
+     * Get assumed memory footprint of one browser session before one is measured
+     * @return Footprint in megabytes
+     */
+    public static long getConcurrencySessionMemoryMb() {
+        return snapshot.getLong("concurrency.session.memory.mb", 400);
+    }
+    
+    /**
+     * Get memory kept free when sizing concurrency
+     * @return Reserve in megabytes
+     */
+    public static long getConcurrencyMemoryReserveMb() {
+        return snapshot.getLong("concurrency.memory.reserve.mb", 512);
+    }
+    
+    /**
+     * Get load average per core above which concurrency is reduced
+     * @return Load per core
+     */
+    public static double getConcurrencyMaxLoadPerCore() {
+        return snapshot.getDouble("concurrency.max.load.per.core", 1.5);
+    }
+    
+    /**
+     * Get how long a test waits for a browser session slot
+     * @return Timeout in seconds
+     */
+    public static int getConcurrencyAcquireTimeoutSeconds() {
+        return snapshot.getInt("concurrency.acquire.timeout.seconds", 600);
+    }
+    
+    /**
+     * Get report title
+     * @return Report title
+     */
+    public static String getReportTitle() {
+        return getProperty("report.title", "Test Report");
+    }
+    
+    /**
+     * Check if the incremental HTML/JSON-lines report is written during the run
+     * @return true if streaming report is enabled
+     */
+    public static boolean isStreamingReportEnabled() {
+        return snapshot.getBoolean("report.streaming.enabled", true);
+    }
+    
+    /**
+     * Get how often an in-progress streaming report reloads in the browser
+     * @return Refresh interval in seconds
+     */
+    public static int getStreamingReportRefreshSeconds() {
+        return snapshot.getInt("report.streaming.refresh.seconds", 10);
+    }
+    
+    /**
+     * Get the largest workbook part ExcelUtility loads into memory
+     * @return Size in megabytes, or 0 to keep POI's default limit
+     */
+    public static int getExcelMaxPartSizeMb() {
+        return snapshot.getInt("excel.max.part.size.mb", 0);
+    }
+    
+    /**
+     * Check if finished data-driven rows are written to the checkpoint journal
+     * @return true if checkpointing is enabled
+     */
+    public static boolean isCheckpointEnabled() {
+        return snapshot.getBoolean("checkpoint.enabled", true);
+    }
+    
+    /**
+     * Get checkpoint journal directory
+     * @return Checkpoint path
+     */
+    public static String getCheckpointPath() {
+        return getProperty("checkpoint.path", "./reports/checkpoints");
+    }
+    
+    /**
+     * Get the longest time between checkpoint journal fsyncs
+     * @return Interval in milliseconds
+     */
+    public static long getCheckpointFsyncIntervalMillis() {
+        return snapshot.getLong("checkpoint.fsync.interval.ms", 1000);
+    }
+    
+    /**
+     * Check if the run resumes from the existing checkpoint journal
+     * @return true to skip rows completed in the previous run
+     */
+    public static boolean isCheckpointResumeEnabled() {
+        return snapshot.getBoolean("checkpoint.resume", false);
+    }
+    
+    /**
+     * Check if rows that failed in the previous run run again on resume
+     * @return true to rerun failed rows
+     */
+    public static boolean isCheckpointRerunFailedEnabled() {
+        return snapshot.getBoolean("checkpoint.resume.rerun.failed", false);
+    }
+    
+    /**
+     * Get test groups that run on the in-JVM htmlunit browser
+     * @return Group names
+     */
+    public static List<String> getHtmlUnitGroups() {
+        return snapshot.getList("htmlunit.groups", "");
+    }
+    
+    /**
+     * Check if JavaScript runs in the htmlunit browser
+     * @return true if JavaScript is enabled
+     */
+    public static boolean isHtmlUnitJavascriptEnabled() {
+        return snapshot.getBoolean("htmlunit.javascript.enabled", true);
+    }
+    
+    /**
+     * Check if the htmlunit browser evaluates stylesheets
+     * @return true if CSS is enabled
+     */
+    public static boolean isHtmlUnitCssEnabled() {
+        return snapshot.getBoolean("htmlunit.css.enabled", false);
+    }
+    
+    /**
+     * Check if the session reaper runs
+     * @return true if dead and idle sessions are reaped periodically
+     */
+    public static boolean isSessionReaperEnabled() {
+        return snapshot.getBoolean("session.reaper.enabled", true);
+    }
+    
+    /**
+     * Get interval between session reaper passes
+     * @return Interval in seconds
+     */
+    public static long getSessionReaperIntervalSeconds() {
+        return snapshot.getLong("session.reaper.interval.seconds", 30);
+    }
+    
+    /**
+     * Get how long a session may go without a DriverManager.getDriver() call before it is reaped
+     * @return Idle timeout in minutes, 0 to never reap idle sessions
+     */
+    public static long getSessionIdleTimeoutMinutes() {
+        return snapshot.getLong("session.idle.timeout.minutes", 180);
+    }
+    
+    /**
+     * Check if the environment circuit breaker is enabled
+     * @return true if tests are short-circuited while the application is down
+     */
+    public static boolean isCircuitBreakerEnabled() {
+        return snapshot.getBoolean("circuit.enabled", true);
+    }
+    
+    /**
+     * Get number of outage-like failures within the window that triggers a health probe
+     * @return Failure threshold
+     */
+    public static int getCircuitFailureThreshold() {
+        return snapshot.getInt("circuit.failure.threshold", 5);
+    }
+    
+    /**
+     * Get how long failures count toward the circuit breaker threshold
+     * @return Window in seconds
+     */
+    public static long getCircuitWindowSeconds() {
+        return snapshot.getLong("circuit.window.seconds", 60);
+    }
+    
+    /**
+     * Get timeout of the application health probe
+     * @return Timeout in milliseconds
+     */
+    public static long getCircuitProbeTimeoutMillis() {
+        return snapshot.getLong("circuit.probe.timeout.ms", 3000);
+    }
+    
+    /**
+     * Get interval between health probes while the circuit is open
+     * @return Interval in seconds
+     */
+    public static long getCircuitProbeIntervalSeconds() {
+        return snapshot.getLong("circuit.probe.interval.seconds", 15);
+    }
+    
+    /**
+     * Get what happens to tests while the circuit is open
+     * @return skip or fail
+     */
+    public static String getCircuitOpenAction() {
+        return getProperty("circuit.open.action", "skip");
+    }
+    
+    /**
+     * Get how long a click on a link or submit button is watched for replacing the document when timings are collected
+     * @return Wait in milliseconds
+     */
+    public static long getPerformanceNavigationWaitMillis() {
+        return snapshot.getLong("performance.navigation.wait.ms", 500);
+    }
+    
+    /**
+     * Get how data-driven parameters appear in events, reports and the checkpoint journal
+     * @return hash, masked or plain
+     */
+    public static String getReportParametersMode() {
+        return getProperty("report.parameters", "hash");
+    }
+    
+    /**
+     * Get key fragments whose values are hidden when parameters are masked
+     * @return Key fragments, matched ignoring case
+     */
+    public static List<String> getReportMaskedKeys() {
+        return snapshot.getList("report.masked.keys", "password,passwd,pwd,secret,token,apikey,api_key,credential,authorization");
     }
 }
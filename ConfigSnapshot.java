@@ -0,0 +1,255 @@
+package com.automation.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Immutable, fully resolved view of the framework configuration
+ * Built once per load with precedence system properties > environment profile > config file.
+ * Frequently read values are parsed up front so lookups are plain field reads; the typed
+ * getters (getInt, getBoolean, ...) parse any other key once and cache the result, so
+ * repeated lookups cost one map read until reload() builds the next snapshot.
+ */
+public final class ConfigSnapshot {
+    private static final Object ABSENT = new Object();
+    
+    private final Map<String, String> values;
+    private final Map<String, Object> booleans = new ConcurrentHashMap<>();
+    private final Map<String, Object> ints = new ConcurrentHashMap<>();
+    private final Map<String, Object> longs = new ConcurrentHashMap<>();
+    private final Map<String, Object> doubles = new ConcurrentHashMap<>();
+    private final Map<String, Object> lists = new ConcurrentHashMap<>();
+    private final List<String> sources;
+    private final long loadedAtMillis;
+    
+    private final String browser;
+    private final String environment;
+    private final String applicationUrl;
+    private final int implicitWait;
+    private final int explicitWait;
+    private final boolean headless;
+    private final String screenshotsPath;
+    private final boolean screenshotsEnabled;
+    private final boolean screenshotDedupEnabled;
+    
+    /**
+     * Resolve layered properties into a snapshot
+     * @param fileProperties Properties from the base config file
+     * @param profileProperties Properties from the environment profile (may be empty)
+     * @param systemProperties System properties captured at load time
+     * @param sources Human-readable list of loaded sources
+     */
+    ConfigSnapshot(Properties fileProperties, Properties profileProperties, Properties systemProperties, List<String> sources) {
+        Map<String, String> merged = new HashMap<>();
+        putAll(merged, fileProperties);
+        putAll(merged, profileProperties);
+        putAll(merged, systemProperties);
+        this.values = Collections.unmodifiableMap(merged);
+        this.sources = Collections.unmodifiableList(sources);
+        this.loadedAtMillis = System.currentTimeMillis();
+        
+        this.browser = get("browser", "chrome");
+        this.environment = get("environment", "dev");
+        this.applicationUrl = get("app.url." + environment);
+        this.implicitWait = parseInt("implicit.wait", 10);
+        this.explicitWait = parseInt("explicit.wait", 20);
+        this.headless = Boolean.parseBoolean(get("headless", "false"));
+        this.screenshotsPath = get("screenshots.path", "./screenshots");
+        this.screenshotsEnabled = Boolean.parseBoolean(get("enable.screenshots", "true"));
+        this.screenshotDedupEnabled = Boolean.parseBoolean(get("screenshot.dedup.enabled", "true"));
+    }
+    
+    private static void putAll(Map<String, String> target, Properties source) {
+        for (String key : source.stringPropertyNames()) {
+            target.put(key, source.getProperty(key));
+        }
+    }
+    
+    private int parseInt(String key, int defaultValue) {
+        String value = get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid integer for configuration property " + key + ": " + value);
+        }
+    }
+    
+    /**
+     * Parse a property once per snapshot
+     * Unset properties are cached as absent, so the caller's default applies on every lookup
+     * @param cache Cache for the target type
+     * @param key Property key
+     * @param type Type name for the error message
+     * @param parser Parser for the trimmed value
+     * @return Parsed value, or null if the property is not set
+     */
+    private Object parsed(Map<String, Object> cache, String key, String type, Function<String, Object> parser) {
+        Object cached = cache.get(key);
+        if (cached == null) {
+            String value = get(key);
+            try {
+                cached = value == null ? ABSENT : parser.apply(value.trim());
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid " + type + " for configuration property " + key + ": " + value);
+            }
+            cache.put(key, cached);
+        }
+        return cached == ABSENT ? null : cached;
+    }
+    
+    /**
+     * Get a boolean property, parsed once
+     * @param key Property key
+     * @param defaultValue Value if the property is not set
+     * @return Property value
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Object value = parsed(booleans, key, "boolean", Boolean::parseBoolean);
+        return value != null ? (Boolean) value : defaultValue;
+    }
+    
+    /**
+     * Get an integer property, parsed once
+     * @param key Property key
+     * @param defaultValue Value if the property is not set
+     * @return Property value
+     */
+    public int getInt(String key, int defaultValue) {
+        Object value = parsed(ints, key, "integer", Integer::parseInt);
+        return value != null ? (Integer) value : defaultValue;
+    }
+    
+    /**
+     * Get a long property, parsed once
+     * @param key Property key
+     * @param defaultValue Value if the property is not set
+     * @return Property value
+     */
+    public long getLong(String key, long defaultValue) {
+        Object value = parsed(longs, key, "long", Long::parseLong);
+        return value != null ? (Long) value : defaultValue;
+    }
+    
+    /**
+     * Get a decimal property, parsed once
+     * @param key Property key
+     * @param defaultValue Value if the property is not set
+     * @return Property value
+     */
+    public double getDouble(String key, double defaultValue) {
+        Object value = parsed(doubles, key, "number", Double::parseDouble);
+        return value != null ? (Double) value : defaultValue;
+    }
+    
+    /**
+     * Get a comma-separated property as a list, split once
+     * Entries are trimmed and empty entries dropped; each key is expected to have a single default
+     * @param key Property key
+     * @param defaultValue Comma-separated value if the property is not set
+     * @return Unmodifiable list
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> getList(String key, String defaultValue) {
+        Object cached = lists.get(key);
+        if (cached == null) {
+            List<String> entries = new ArrayList<>();
+            for (String entry : get(key, defaultValue).split(",")) {
+                if (!entry.trim().isEmpty()) {
+                    entries.add(entry.trim());
+                }
+            }
+            cached = Collections.unmodifiableList(entries);
+            lists.put(key, cached);
+        }
+        return (List<String>) cached;
+    }
+    
+    /**
+     * Get resolved property value
+     * @param key Property key
+     * @return Property value, or null if not set
+     */
+    public String get(String key) {
+        return values.get(key);
+    }
+    
+    /**
+     * Get resolved property value with default fallback
+     * @param key Property key
+     * @param defaultValue Default value if property not found
+     * @return Property value or default
+     */
+    public String get(String key, String defaultValue) {
+        String value = values.get(key);
+        return value != null ? value : defaultValue;
+    }
+    
+    /**
+     * Get all resolved properties
+     * @return Unmodifiable key/value map
+     */
+    public Map<String, String> asMap() {
+        return values;
+    }
+    
+    /**
+     * Get the sources this snapshot was built from, lowest precedence first
+     * @return Source descriptions
+     */
+    public List<String> getSources() {
+        return sources;
+    }
+    
+    /**
+     * Get when this snapshot was built
+     * @return Load time in epoch milliseconds
+     */
+    public long getLoadedAtMillis() {
+        return loadedAtMillis;
+    }
+    
+    public String getBrowser() {
+        return browser;
+    }
+    
+    public String getEnvironment() {
+        return environment;
+    }
+    
+    public String getApplicationUrl() {
+        return applicationUrl;
+    }
+    
+    public int getImplicitWait() {
+        return implicitWait;
+    }
+    
+    public int getExplicitWait() {
+        return explicitWait;
+    }
+    
+    public boolean isHeadless() {
+        return headless;
+    }
+    
+    public String getScreenshotsPath() {
+        return screenshotsPath;
+    }
+    
+    public boolean isScreenshotsEnabled() {
+        return screenshotsEnabled;
+    }
+    
+    public boolean isScreenshotDedupEnabled() {
+        return screenshotDedupEnabled;
+    }
+}
@@ -0,0 +1,192 @@
+package com.automation.utilities;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * CSV test data source read through a memory-mapped file
+ * The file is mapped once and scanned byte by byte; nothing is read into the heap up front,
+ * and each pass only allocates the strings of the row being visited. The first line is the
+ * header. Quoted fields (RFC 4180: embedded delimiters, line breaks and "" escapes), CRLF line
+ * endings and a UTF-8 byte order mark are supported. Blank lines are skipped.
+ */
+public class CsvDataSource implements TestDataSource {
+    private static final byte QUOTE = '"';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private final String filePath;
+    private final byte delimiter;
+    private MappedByteBuffer buffer;
+    private final List<String> headers;
+    private final int dataStart;
+    
+    /**
+     * Map a comma-separated file
+     * @param filePath CSV file path
+     */
+    public CsvDataSource(String filePath) {
+        this(filePath, ',');
+    }
+    
+    /**
+     * Map a delimited file
+     * @param filePath File path
+     * @param delimiter Single-byte field delimiter, e.g. ',' or ';'
+     */
+    public CsvDataSource(String filePath, char delimiter) {
+        if (delimiter > 0x7f) {
+            throw new IllegalArgumentException("Delimiter must be an ASCII character: " + delimiter);
+        }
+        this.filePath = filePath;
+        this.delimiter = (byte) delimiter;
+        Path path = Paths.get(filePath);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new RuntimeException("CSV file larger than 2 GB is not supported: " + filePath);
+            }
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load CSV file: " + filePath, e);
+        }
+        
+        ByteBuffer reader = buffer.duplicate();
+        if (reader.remaining() >= 3 && reader.get(0) == (byte) 0xEF && reader.get(1) == (byte) 0xBB
+            && reader.get(2) == (byte) 0xBF) {
+            reader.position(3);
+        }
+        List<String> header = new ArrayList<>();
+        byte[][] scratch = {new byte[256]};
+        headers = readRow(reader, header, scratch) ? Collections.unmodifiableList(header) : Collections.emptyList();
+        dataStart = reader.position();
+    }
+    
+    @Override
+    public List<String> getHeaders() {
+        return headers;
+    }
+    
+    @Override
+    public void forEachDataRow(Consumer<String[]> rowConsumer) {
+        ByteBuffer reader = mapped().duplicate();
+        reader.position(dataStart);
+        List<String> fields = new ArrayList<>(headers.size());
+        byte[][] scratch = {new byte[256]};
+        while (readRow(reader, fields, scratch)) {
+            rowConsumer.accept(fields.toArray(new String[0]));
+        }
+    }
+    
+    /**
+     * Drop the mapping; the operating system unmaps it once it is garbage collected
+     */
+    @Override
+    public void close() {
+        buffer = null;
+    }
+    
+    private MappedByteBuffer mapped() {
+        if (buffer == null) {
+            throw new IllegalStateException("CSV data source is closed: " + filePath);
+        }
+        return buffer;
+    }
+    
+    /**
+     * Parse the next non-blank record starting at the reader's position
+     * @param reader Buffer positioned at the start of a record, advanced past it
+     * @param fields Cleared and filled with the record's fields
+     * @param scratch Reusable field byte buffer, grown as needed
+     * @return false when the end of the file was reached without a record
+     */
+    private boolean readRow(ByteBuffer reader, List<String> fields, byte[][] scratch) {
+        fields.clear();
+        int limit = reader.limit();
+        int pos = reader.position();
+        
+        // Blank lines carry no record
+        while (pos < limit && (reader.get(pos) == LF || reader.get(pos) == CR)) {
+            pos++;
+        }
+        if (pos >= limit) {
+            reader.position(pos);
+            return false;
+        }
+        
+        while (true) {
+            int length = 0;
+            byte[] bytes = scratch[0];
+            if (pos < limit && reader.get(pos) == QUOTE) {
+                pos++;
+                while (pos < limit) {
+                    byte b = reader.get(pos++);
+                    if (b == QUOTE) {
+                        if (pos < limit && reader.get(pos) == QUOTE) {
+                            pos++;
+                        } else {
+                            break;
+                        }
+                    }
+                    if (length == bytes.length) {
+                        bytes = scratch[0] = Arrays.copyOf(bytes, bytes.length * 2);
+                    }
+                    bytes[length++] = b;
+                }
+                // Anything between the closing quote and the delimiter is kept as-is
+                while (pos < limit) {
+                    byte b = reader.get(pos);
+                    if (b == delimiter || b == LF || b == CR) {
+                        break;
+                    }
+                    if (length == bytes.length) {
+                        bytes = scratch[0] = Arrays.copyOf(bytes, bytes.length * 2);
+                    }
+                    bytes[length++] = b;
+                    pos++;
+                }
+                fields.add(new String(bytes, 0, length, StandardCharsets.UTF_8));
+            } else {
+                int start = pos;
+                while (pos < limit) {
+                    byte b = reader.get(pos);
+                    if (b == delimiter || b == LF || b == CR) {
+                        break;
+                    }
+                    pos++;
+                }
+                length = pos - start;
+                if (length > bytes.length) {
+                    bytes = scratch[0] = new byte[Math.max(length, bytes.length * 2)];
+                }
+                reader.position(start);
+                reader.get(bytes, 0, length);
+                fields.add(new String(bytes, 0, length, StandardCharsets.UTF_8));
+            }
+            
+            if (pos < limit && reader.get(pos) == delimiter) {
+                pos++;
+                continue;
+            }
+            if (pos < limit && reader.get(pos) == CR) {
+                pos++;
+            }
+            if (pos < limit && reader.get(pos) == LF) {
+                pos++;
+            }
+            reader.position(pos);
+            return true;
+        }
+    }
+}
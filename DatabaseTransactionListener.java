@@ -0,0 +1,29 @@
+package com.automation.listeners;
+
+import com.automation.config.ConfigManager;
+import com.automation.utilities.DatabaseUtility;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+/**
+ * TestNG listener that isolates each test's database changes
+ * When db.test.rollback is enabled, every test method runs inside a per-thread transaction
+ * that is rolled back once the method finishes, pass or fail
+ */
+public class DatabaseTransactionListener implements IInvokedMethodListener {
+    
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod() && ConfigManager.isDatabaseTestRollbackEnabled()) {
+            DatabaseUtility.beginTestTransaction();
+        }
+    }
+    
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod() && DatabaseUtility.isInTestTransaction()) {
+            DatabaseUtility.rollbackTestTransaction();
+        }
+    }
+}
@@ -0,0 +1,553 @@
+package com.automation.utilities;
+
+import com.automation.config.ConfigManager;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Database Utility for test fixtures and validation queries
+ * Connections come from a shared bounded pool; each pooled connection keeps an LRU cache
+ * of prepared statements, so repeated queries skip statement preparation. Fixtures can be
+ * bulk-loaded from Excel sheets with JDBC batches, and tests can run inside a per-thread
+ * transaction that is rolled back afterwards.
+ */
+public class DatabaseUtility {
+    private static final ThreadLocal<Connection> testConnection = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> testTransaction = new ThreadLocal<>();
+    private static final AtomicInteger openConnections = new AtomicInteger();
+    private static final AtomicLong statementCacheHits = new AtomicLong();
+    private static final AtomicLong statementCacheMisses = new AtomicLong();
+    private static BlockingQueue<PooledConnection> idleConnections;
+    private static String poolUrl;
+    
+    /**
+     * Borrow a connection from the pool
+     * Closing the returned connection gives it back to the pool. Inside a test transaction
+     * the thread's transactional connection is returned and closing it does nothing.
+     * @return Pooled connection
+     */
+    public static Connection getConnection() {
+        if (Boolean.TRUE.equals(testTransaction.get())) {
+            Connection connection = testConnection.get();
+            if (connection == null) {
+                connection = borrow();
+                try {
+                    connection.setAutoCommit(false);
+                } catch (SQLException e) {
+                    release(connection);
+                    throw new RuntimeException("Failed to start test transaction: " + e.getMessage(), e);
+                }
+                testConnection.set(connection);
+            }
+            return nonClosing(connection);
+        }
+        return borrow();
+    }
+    
+    /**
+     * Execute an insert, update or delete statement
+     * @param sql SQL with ? placeholders
+     * @param parameters Placeholder values
+     * @return Number of affected rows
+     */
+    public static int executeUpdate(String sql, Object... parameters) {
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            bind(statement, parameters);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to execute update: " + sql + " - " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Execute a query and return all rows
+     * @param sql SQL with ? placeholders
+     * @param parameters Placeholder values
+     * @return Rows as column label to value maps, in column order
+     */
+    public static List<Map<String, Object>> executeQuery(String sql, Object... parameters) {
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            bind(statement, parameters);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                int columnCount = metaData.getColumnCount();
+                List<Map<String, Object>> rows = new ArrayList<>();
+                while (resultSet.next()) {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int i = 1; i <= columnCount; i++) {
+                        row.put(metaData.getColumnLabel(i), resultSet.getObject(i));
+                    }
+                    rows.add(row);
+                }
+                return rows;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to execute query: " + sql + " - " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Execute a query expected to return a single value
+     * @param sql SQL with ? placeholders
+     * @param parameters Placeholder values
+     * @return First column of the first row, or null if there are no rows
+     */
+    public static Object executeScalar(String sql, Object... parameters) {
+        List<Map<String, Object>> rows = executeQuery(sql, parameters);
+        return rows.isEmpty() ? null : rows.get(0).values().iterator().next();
+    }
+    
+    /**
+     * Load an Excel sheet into a table with JDBC batch inserts
+     * The header row names the table columns; rows are streamed from the sheet into batches
+     * of db.batch.size, so no intermediate copy of the sheet is built. Outside a test
+     * transaction the load commits once at the end, or not at all if any batch fails.
+     * @param excelPath Excel file path
+     * @param sheetName Sheet name
+     * @param tableName Target table
+     * @return Number of rows inserted
+     */
+    public static int loadFromExcel(String excelPath, String sheetName, String tableName) {
+        ExcelUtility excel = new ExcelUtility(excelPath);
+        try {
+            excel.setSheet(sheetName);
+            return loadFromExcel(excel, tableName);
+        } finally {
+            excel.closeWorkbook();
+        }
+    }
+    
+    /**
+     * Load the active sheet of an open workbook into a table with JDBC batch inserts
+     * @param excel Excel utility with the source sheet selected
+     * @param tableName Target table
+     * @return Number of rows inserted
+     */
+    public static int loadFromExcel(ExcelUtility excel, String tableName) {
+        return loadFromDataSource(excel, tableName);
+    }
+    
+    /**
+     * Load an Excel, CSV or JSON data file into a table with JDBC batch inserts
+     * @param filePath Data file path; workbooks use their first sheet
+     * @param tableName Target table
+     * @return Number of rows inserted
+     */
+    public static int loadFromFile(String filePath, String tableName) {
+        try (TestDataSource source = TestDataSource.open(filePath)) {
+            return loadFromDataSource(source, tableName);
+        }
+    }
+    
+    /**
+     * Load an open data source into a table with JDBC batch inserts
+     * @param source Data source whose headers name the table columns
+     * @param tableName Target table
+     * @return Number of rows inserted
+     */
+    public static int loadFromDataSource(TestDataSource source, String tableName) {
+        List<String> columns = source.getHeaders();
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(tableName).append(" (")
+            .append(String.join(", ", columns)).append(") VALUES (");
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+        
+        int batchSize = Math.max(1, ConfigManager.getDatabaseBatchSize());
+        boolean ownTransaction = !Boolean.TRUE.equals(testTransaction.get());
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            boolean autoCommit = connection.getAutoCommit();
+            if (ownTransaction) {
+                connection.setAutoCommit(false);
+            }
+            
+            int[] inserted = {0};
+            int[] pending = {0};
+            try {
+                source.forEachDataRow(values -> {
+                    try {
+                        for (int i = 0; i < columns.size(); i++) {
+                            String value = i < values.length ? values[i] : "";
+                            statement.setString(i + 1, value.isEmpty() ? null : value);
+                        }
+                        statement.addBatch();
+                        if (++pending[0] == batchSize) {
+                            inserted[0] += sum(statement.executeBatch(), pending[0]);
+                            pending[0] = 0;
+                        }
+                    } catch (SQLException e) {
+                        throw new RuntimeException("Failed to insert into " + tableName + ": " + e.getMessage(), e);
+                    }
+                });
+                if (pending[0] > 0) {
+                    inserted[0] += sum(statement.executeBatch(), pending[0]);
+                }
+                if (ownTransaction) {
+                    connection.commit();
+                }
+            } catch (RuntimeException | SQLException e) {
+                if (ownTransaction) {
+                    connection.rollback();
+                }
+                throw e;
+            } finally {
+                if (ownTransaction) {
+                    connection.setAutoCommit(autoCommit);
+                }
+            }
+            return inserted[0];
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load Excel data into " + tableName + ": " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Run the current thread's database work in a transaction until rollbackTestTransaction
+     * The connection is only borrowed on first use, so tests that never touch the database pay nothing
+     */
+    public static void beginTestTransaction() {
+        testTransaction.set(Boolean.TRUE);
+    }
+    
+    /**
+     * Roll back and release the current thread's test transaction
+     */
+    public static void rollbackTestTransaction() {
+        Connection connection = testConnection.get();
+        testConnection.remove();
+        testTransaction.remove();
+        if (connection == null) {
+            return;
+        }
+        
+        try {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            System.err.println("Failed to roll back test transaction: " + e.getMessage());
+        } finally {
+            release(connection);
+        }
+    }
+    
+    /**
+     * Check if the current thread is inside a test transaction
+     * @return true if database work on this thread will be rolled back
+     */
+    public static boolean isInTestTransaction() {
+        return Boolean.TRUE.equals(testTransaction.get());
+    }
+    
+    /**
+     * Get pool and statement cache counters
+     * @return Statistics map
+     */
+    public static Map<String, Object> getPoolStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("openConnections", openConnections.get());
+        stats.put("idleConnections", idleConnections == null ? 0 : idleConnections.size());
+        stats.put("statementCacheHits", statementCacheHits.get());
+        stats.put("statementCacheMisses", statementCacheMisses.get());
+        return stats;
+    }
+    
+    /**
+     * Close all idle pooled connections
+     * Connections still borrowed are closed when they are returned
+     */
+    public static synchronized void shutdown() {
+        if (idleConnections == null) {
+            return;
+        }
+        BlockingQueue<PooledConnection> idle = idleConnections;
+        idleConnections = null;
+        PooledConnection pooled;
+        while ((pooled = idle.poll()) != null) {
+            pooled.closePhysical();
+        }
+    }
+    
+    private static void bind(PreparedStatement statement, Object[] parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+    }
+    
+    private static int sum(int[] counts, int batchRows) {
+        int total = 0;
+        for (int count : counts) {
+            // Some drivers report SUCCESS_NO_INFO (-2) for batched rows
+            total += count >= 0 ? count : 1;
+        }
+        return counts.length == 0 ? batchRows : total;
+    }
+    
+    /**
+     * Get the idle queue, creating the pool on first use
+     * @return Idle connection queue
+     */
+    private static synchronized BlockingQueue<PooledConnection> getPool() {
+        if (idleConnections == null) {
+            poolUrl = ConfigManager.getDatabaseUrl();
+            String driverClass = ConfigManager.getDatabaseDriver();
+            if (driverClass != null && !driverClass.isEmpty()) {
+                try {
+                    Class.forName(driverClass);
+                } catch (ClassNotFoundException e) {
+                    // JDBC 4 drivers register themselves through the service loader
+                }
+            }
+            idleConnections = new ArrayBlockingQueue<>(Math.max(1, ConfigManager.getDatabasePoolSize()));
+            Runtime.getRuntime().addShutdownHook(new Thread(DatabaseUtility::shutdown, "database-pool-shutdown"));
+        }
+        return idleConnections;
+    }
+    
+    /**
+     * Take an idle connection, open a new one while under the pool size, or wait for one
+     * @return Connection proxy for this borrow that returns the connection to the pool on close
+     */
+    private static Connection borrow() {
+        BlockingQueue<PooledConnection> pool = getPool();
+        int maxSize = Math.max(1, ConfigManager.getDatabasePoolSize());
+        try {
+            while (true) {
+                PooledConnection pooled = pool.poll();
+                if (pooled == null) {
+                    int open = openConnections.get();
+                    if (open < maxSize && openConnections.compareAndSet(open, open + 1)) {
+                        try {
+                            pooled = new PooledConnection(DriverManager.getConnection(poolUrl,
+                                ConfigManager.getDatabaseUsername(), ConfigManager.getDatabasePassword()));
+                        } catch (SQLException e) {
+                            openConnections.decrementAndGet();
+                            throw new RuntimeException("Failed to connect to database: " + e.getMessage(), e);
+                        }
+                    } else {
+                        pooled = pool.poll(ConfigManager.getDatabasePoolTimeout(), TimeUnit.SECONDS);
+                        if (pooled == null) {
+                            throw new RuntimeException("Timed out waiting for a database connection, pool size " + maxSize);
+                        }
+                    }
+                }
+                
+                // Drop connections the server closed while they sat idle
+                if (pooled.isUsable()) {
+                    return pooled.lease();
+                }
+                pooled.closePhysical();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a database connection", e);
+        }
+    }
+    
+    private static void release(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Failed to release database connection: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Wrap a connection so close() is a no-op (used for the test transaction connection)
+     */
+    private static Connection nonClosing(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(DatabaseUtility.class.getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                if ("close".equals(method.getName())) {
+                    return null;
+                }
+                return invoke(connection, method, args);
+            });
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+    
+    /**
+     * Physical connection with its prepared-statement cache
+     */
+    private static class PooledConnection {
+        private final Connection physical;
+        private final Map<String, PreparedStatement> statementCache;
+        private volatile boolean closedPhysically;
+        
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            int cacheSize = Math.max(0, ConfigManager.getDatabaseStatementCacheSize());
+            this.statementCache = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                    if (size() > cacheSize) {
+                        closeQuietly(eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+        
+        /**
+         * Hand out a fresh proxy for one borrow
+         * The first close() returns the connection to the pool; later calls on the same proxy
+         * do nothing (close) or fail, so a double close cannot pool the connection twice.
+         * @return Connection proxy for this borrow
+         */
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(DatabaseUtility.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new Lease());
+        }
+        
+        /**
+         * Get a cached statement for the SQL, preparing it on a miss
+         * The returned statement ignores close() so it stays in the cache
+         */
+        private synchronized PreparedStatement cachedStatement(String sql, Connection proxy) throws SQLException {
+            PreparedStatement statement = statementCache.get(sql);
+            if (statement == null || statement.isClosed()) {
+                statementCacheMisses.incrementAndGet();
+                statement = physical.prepareStatement(sql);
+                statementCache.put(sql, statement);
+            } else {
+                statementCacheHits.incrementAndGet();
+            }
+            
+            PreparedStatement cached = statement;
+            return (PreparedStatement) Proxy.newProxyInstance(DatabaseUtility.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, (statementProxy, method, args) -> {
+                    if ("close".equals(method.getName())) {
+                        cached.clearParameters();
+                        cached.clearBatch();
+                        return null;
+                    }
+                    if ("getConnection".equals(method.getName())) {
+                        return proxy;
+                    }
+                    return DatabaseUtility.invoke(cached, method, args);
+                });
+        }
+        
+        private boolean isUsable() {
+            try {
+                return !physical.isClosed() && physical.isValid(2);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+        
+        private void returnToPool() {
+            try {
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                closePhysical();
+                return;
+            }
+            
+            BlockingQueue<PooledConnection> pool = idleConnections;
+            if (pool == null || !pool.offer(this)) {
+                closePhysical();
+            }
+        }
+        
+        private synchronized void closePhysical() {
+            if (closedPhysically) {
+                return;
+            }
+            closedPhysically = true;
+            openConnections.decrementAndGet();
+            for (PreparedStatement statement : statementCache.values()) {
+                closeQuietly(statement);
+            }
+            statementCache.clear();
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                // Already broken
+            }
+        }
+        
+        private static void closeQuietly(PreparedStatement statement) {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                // Statement already unusable
+            }
+        }
+        
+        /**
+         * One borrow of the physical connection
+         */
+        private class Lease implements InvocationHandler {
+            private final AtomicBoolean closed = new AtomicBoolean();
+            
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (closed.compareAndSet(false, true)) {
+                            returnToPool();
+                        }
+                        return null;
+                    case "isClosed":
+                        return closed.get() || physical.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "PooledConnection[" + physical + (closed.get() ? ", closed]" : "]");
+                    default:
+                        break;
+                }
+                if (closed.get()) {
+                    throw new SQLException("Connection returned to the pool");
+                }
+                switch (method.getName()) {
+                    case "unwrap":
+                        return ((Class<?>) args[0]).isInstance(physical) ? physical : DatabaseUtility.invoke(physical, method, args);
+                    case "prepareStatement":
+                        if (args.length == 1) {
+                            return cachedStatement((String) args[0], (Connection) proxy);
+                        }
+                        return DatabaseUtility.invoke(physical, method, args);
+                    default:
+                        return DatabaseUtility.invoke(physical, method, args);
+                }
+            }
+        }
+    }
+}
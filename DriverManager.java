@@ -1,7 +1,10 @@
 package com.automation.drivers;
 
 import com.automation.config.ConfigManager;
+import com.automation.utilities.FailureVideoRecorder;
+import com.automation.utilities.ResourceMonitor;
 import io.github.bonigarcia.wdm.WebDriverManager;
+import org.htmlunit.BrowserVersion;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -9,48 +12,112 @@ import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
 import org.openqa.selenium.safari.SafariDriver;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * WebDriver Manager for handling browser instances
  * Supports multiple browsers with thread-safe implementation
+ * "htmlunit" is an in-JVM headless browser for checks that need no real rendering
  */
 public class DriverManager {
     private static ThreadLocal<WebDriver> driver = new ThreadLocal<>();
     
     /**
      * Initialize WebDriver based on browser configuration
-     * @param browserName Browser name (chrome, firefox, edge, safari)
+     * @param browserName Browser name (chrome, firefox, edge, safari, htmlunit)
      */
     public static void initializeDriver(String browserName) {
         WebDriver webDriver = null;
+        boolean lightweight = isLightweight(browserName);
         
-        switch (browserName.toLowerCase()) {
-            case "chrome":
-                webDriver = createChromeDriver();
-                break;
-            case "firefox":
-                webDriver = createFirefoxDriver();
-                break;
-            case "edge":
-                webDriver = createEdgeDriver();
-                break;
-            case "safari":
-                webDriver = createSafariDriver();
-                break;
-            default:
-                throw new IllegalArgumentException("Browser not supported: " + browserName);
+        // Waits while the adaptive concurrency limit is reached; in-JVM sessions start no browser process
+        if (!lightweight) {
+            ConcurrencyController.acquire();
+        }
+        try {
+            switch (browserName.toLowerCase()) {
+                case "chrome":
+                    webDriver = ConfigManager.isBrowserContextsEnabled()
+                        ? BrowserContextPool.acquire() : createChromeDriver();
+                    break;
+                case "firefox":
+                    webDriver = createFirefoxDriver();
+                    break;
+                case "edge":
+                    webDriver = createEdgeDriver();
+                    break;
+                case "safari":
+                    webDriver = createSafariDriver();
+                    break;
+                case "htmlunit":
+                    webDriver = createHtmlUnitDriver();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Browser not supported: " + browserName);
+            }
+            
+            // Configure timeouts
+            webDriver.manage().timeouts().implicitlyWait(
+                Duration.ofSeconds(ConfigManager.getImplicitWait())
+            );
+            // Pooled contexts share the host browser's window size
+            if (!BrowserContextPool.isPooled(webDriver) && !lightweight) {
+                webDriver.manage().window().maximize();
+            }
+            
+            driver.set(webDriver);
+            SessionRegistry.register(webDriver, browserName, ConcurrencyController.holdsSlot());
+        } catch (RuntimeException e) {
+            // A browser that started but could not be set up is not tracked yet; close it here
+            if (webDriver != null) {
+                driver.remove();
+                try {
+                    if (!BrowserContextPool.release(webDriver)) {
+                        webDriver.quit();
+                    }
+                } catch (RuntimeException quitFailure) {
+                    e.addSuppressed(quitFailure);
+                }
+            }
+            ConcurrencyController.release();
+            throw e;
         }
         
-        // Configure timeouts
-        webDriver.manage().timeouts().implicitlyWait(
-            Duration.ofSeconds(ConfigManager.getImplicitWait())
-        );
-        webDriver.manage().window().maximize();
-        
-        driver.set(webDriver);
+        // Nothing to record or sample without a browser process
+        if (lightweight) {
+            return;
+        }
+        if (ConfigManager.isVideoRecordingEnabled()) {
+            FailureVideoRecorder.attach(webDriver);
+        }
+        if (ConfigManager.isMemoryMonitoringEnabled()) {
+            ResourceMonitor.attach(webDriver);
+        }
+    }
+    
+    /**
+     * Initialize WebDriver, using the in-JVM htmlunit browser when a test group opts in
+     * @param browserName Browser used unless a group is listed in htmlunit.groups
+     * @param groups Groups of the test about to run
+     */
+    public static void initializeDriver(String browserName, String... groups) {
+        List<String> lightweightGroups = ConfigManager.getHtmlUnitGroups();
+        boolean optedIn = groups != null && Arrays.stream(groups).anyMatch(lightweightGroups::contains);
+        initializeDriver(optedIn ? "htmlunit" : browserName);
+    }
+    
+    /**
+     * Check if a browser type runs inside this JVM rather than as a separate browser process
+     * @param browserName Browser name
+     * @return true for htmlunit
+     */
+    public static boolean isLightweight(String browserName) {
+        return "htmlunit".equalsIgnoreCase(browserName);
     }
     
     /**
@@ -58,6 +125,10 @@ public class DriverManager {
      * @return WebDriver instance
      */
     public static WebDriver getDriver() {
+        // A session reaped while idle is gone; the test sees no driver rather than a dead one
+        if (!SessionRegistry.touch()) {
+            driver.remove();
+        }
         return driver.get();
     }
     
@@ -67,8 +138,18 @@ public class DriverManager {
     public static void quitDriver() {
         WebDriver webDriver = driver.get();
         if (webDriver != null) {
-            webDriver.quit();
+            // Forget the session first so a failing quit cannot leave it behind on this thread
             driver.remove();
+            try {
+                FailureVideoRecorder.detach();
+                ResourceMonitor.detach();
+            } finally {
+                try {
+                    SessionRegistry.quit(webDriver);
+                } finally {
+                    ConcurrencyController.release();
+                }
+            }
         }
     }
     
@@ -78,6 +159,14 @@ public class DriverManager {
      */
     private static WebDriver createChromeDriver() {
         WebDriverManager.chromedriver().setup();
+        return new ChromeDriver(buildChromeOptions());
+    }
+    
+    /**
+     * Build the Chrome options shared by standalone and context-pool browsers
+     * @return ChromeOptions
+     */
+    static ChromeOptions buildChromeOptions() {
         ChromeOptions options = new ChromeOptions();
         
         if (ConfigManager.isHeadless()) {
@@ -92,7 +181,7 @@ public class DriverManager {
         options.addArguments("--disable-web-security");
         options.addArguments("--allow-running-insecure-content");
         
-        return new ChromeDriver(options);
+        return options;
     }
     
     /**
@@ -133,6 +222,20 @@ public class DriverManager {
         return new EdgeDriver(options);
     }
     
+    /**
+     * Create the in-JVM HtmlUnit driver
+     * No browser process is started; JavaScript stays on so WebKeywords work unchanged,
+     * CSS is only evaluated when htmlunit.css.enabled is set
+     * @return HtmlUnitDriver instance
+     */
+    private static WebDriver createHtmlUnitDriver() {
+        HtmlUnitDriver htmlUnitDriver = new HtmlUnitDriver(BrowserVersion.CHROME, ConfigManager.isHtmlUnitJavascriptEnabled());
+        htmlUnitDriver.getWebClient().getOptions().setCssEnabled(ConfigManager.isHtmlUnitCssEnabled());
+        // Like a real browser, a broken page script must not fail the check
+        htmlUnitDriver.getWebClient().getOptions().setThrowExceptionOnScriptError(false);
+        return htmlUnitDriver;
+    }
+    
     /**
      * Create Safari WebDriver
      * @return SafariDriver instance
@@ -0,0 +1,274 @@
+package com.automation.utilities;
+
+import com.automation.config.ConfigManager;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-test duration history persisted across runs
+ * Durations are accumulated per test method and <test> context (all data-provider rows together)
+ * during a run; the per-context cost is folded into an exponentially weighted moving average and
+ * saved as JSON. Keys are "fully.qualified.Class#method".
+ */
+public class DurationHistory {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String SHARD_RUN_SUFFIX = ".run.json";
+    private static volatile DurationHistory instance;
+    
+    private final Path historyFile;
+    private final Map<String, Stats> history = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, LongAdder>> currentRun = new ConcurrentHashMap<>();
+    
+    private DurationHistory(Path historyFile) {
+        this.historyFile = historyFile;
+        load();
+    }
+    
+    /**
+     * Get the history for the configured file, loading it on first use
+     * @return Duration history
+     */
+    public static DurationHistory getInstance() {
+        if (instance == null) {
+            synchronized (DurationHistory.class) {
+                if (instance == null) {
+                    instance = new DurationHistory(Paths.get(ConfigManager.getTestHistoryPath()));
+                }
+            }
+        }
+        return instance;
+    }
+    
+    /**
+     * Build the history key for a test method
+     * @param className Fully qualified class name
+     * @param methodName Method name
+     * @return History key
+     */
+    public static String key(String className, String methodName) {
+        return className + "#" + methodName;
+    }
+    
+    /**
+     * Add one invocation's duration to the current run
+     * A method that runs in several <test> contexts is estimated per context, since
+     * LongestFirstInterceptor orders each context on its own.
+     * @param context Name of the <test> context the invocation ran in
+     * @param key History key
+     * @param durationMillis Invocation duration in milliseconds
+     */
+    public void record(String context, String key, long durationMillis) {
+        currentRun.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(context, c -> new LongAdder()).add(Math.max(0, durationMillis));
+    }
+    
+    /**
+     * Get the predicted duration of a test method
+     * @param key History key
+     * @return Predicted duration in milliseconds, or -1 if the method has no history
+     */
+    public long estimate(String key) {
+        Stats stats = history.get(key);
+        return stats == null ? -1 : Math.round(stats.ewmaMillis);
+    }
+    
+    /**
+     * Get the median of all known estimates, used for methods without history
+     * @return Median estimate in milliseconds, or the configured default if the history is empty
+     */
+    public long medianEstimate() {
+        List<Double> estimates = new ArrayList<>();
+        for (Stats stats : history.values()) {
+            estimates.add(stats.ewmaMillis);
+        }
+        if (estimates.isEmpty()) {
+            return ConfigManager.getTestHistoryDefaultMillis();
+        }
+        Collections.sort(estimates);
+        return Math.round(estimates.get(estimates.size() / 2));
+    }
+    
+    /**
+     * Fold the current run into the history and write it to disk
+     * Parallel forks share the file, so it is re-read under a file lock and this run's
+     * durations are merged into the latest contents; the file is replaced atomically.
+     * Sharded runs only write their own run file, so the history every shard plans from
+     * stays fixed until mergeShardRuns() folds the runs in.
+     */
+    public synchronized void save() {
+        try {
+            if (historyFile.getParent() != null) {
+                Files.createDirectories(historyFile.getParent());
+            }
+            
+            if (ConfigManager.getShardCount() > 1) {
+                Map<String, Map<String, Long>> run = new TreeMap<>();
+                for (Map.Entry<String, Map<String, LongAdder>> entry : currentRun.entrySet()) {
+                    Map<String, Long> contexts = new TreeMap<>();
+                    entry.getValue().forEach((context, total) -> contexts.put(context, total.sum()));
+                    run.put(entry.getKey(), contexts);
+                }
+                Path runFile = historyFile.resolveSibling(String.format("%s.shard-%d-of-%d%s", historyFile.getFileName(),
+                    ConfigManager.getShardIndex(), ConfigManager.getShardCount(), SHARD_RUN_SUFFIX));
+                MAPPER.writerWithDefaultPrettyPrinter().writeValue(runFile.toFile(), run);
+                currentRun.clear();
+                return;
+            }
+            
+            withFileLock(() -> {
+                load();
+                fold(ConfigManager.getTestHistoryAlpha());
+                write();
+            });
+        } catch (IOException e) {
+            System.err.println("Failed to save test duration history: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Fold the run files left by sharded runs into the history, then delete them
+     * Durations of a method that ran in the same context on several shards (data rows) are added together
+     * @return Number of run files merged
+     */
+    public synchronized int mergeShardRuns() throws IOException {
+        Path directory = historyFile.toAbsolutePath().getParent();
+        String prefix = historyFile.getFileName() + ".shard-";
+        List<Path> runFiles = new ArrayList<>();
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*" + SHARD_RUN_SUFFIX)) {
+                stream.forEach(runFiles::add);
+            }
+        }
+        if (runFiles.isEmpty()) {
+            return 0;
+        }
+        
+        withFileLock(() -> {
+            load();
+            for (Path runFile : runFiles) {
+                Map<String, Map<String, Long>> run = MAPPER.readValue(runFile.toFile(),
+                    new TypeReference<Map<String, Map<String, Long>>>() { });
+                run.forEach((key, contexts) -> contexts.forEach((context, millis) -> record(context, key, millis)));
+            }
+            fold(ConfigManager.getTestHistoryAlpha());
+            write();
+            for (Path runFile : runFiles) {
+                Files.delete(runFile);
+            }
+        });
+        return runFiles.size();
+    }
+    
+    @SuppressWarnings("try")
+    private void withFileLock(IoAction action) throws IOException {
+        Path lockFile = historyFile.resolveSibling(historyFile.getFileName() + ".lock");
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock lock = channel.lock()) {
+            action.run();
+        }
+    }
+    
+    private void write() throws IOException {
+        Map<String, Map<String, Object>> document = new TreeMap<>();
+        for (Map.Entry<String, Stats> entry : history.entrySet()) {
+            document.put(entry.getKey(), entry.getValue().toMap());
+        }
+        Path temp = historyFile.resolveSibling(historyFile.getFileName() + ".tmp");
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), document);
+        Files.move(temp, historyFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    /**
+     * Get number of test methods with recorded history
+     * @return Known method count
+     */
+    public int size() {
+        return history.size();
+    }
+    
+    /**
+     * Merge the current run's per-context cost into the smoothed history
+     * @param alpha Weight of the current run
+     */
+    private void fold(double alpha) {
+        for (Map.Entry<String, Map<String, LongAdder>> run : currentRun.entrySet()) {
+            long total = 0;
+            for (LongAdder contextTotal : run.getValue().values()) {
+                total += contextTotal.sum();
+            }
+            long millis = run.getValue().isEmpty() ? 0 : total / run.getValue().size();
+            history.compute(run.getKey(), (key, stats) -> {
+                if (stats == null) {
+                    return new Stats(millis, 1, millis);
+                }
+                return new Stats(alpha * millis + (1 - alpha) * stats.ewmaMillis, stats.samples + 1, millis);
+            });
+        }
+        currentRun.clear();
+    }
+    
+    private void load() {
+        if (!Files.exists(historyFile)) {
+            return;
+        }
+        
+        try {
+            Map<String, Map<String, Number>> document = MAPPER.readValue(historyFile.toFile(),
+                new TypeReference<Map<String, Map<String, Number>>>() { });
+            for (Map.Entry<String, Map<String, Number>> entry : document.entrySet()) {
+                Map<String, Number> values = entry.getValue();
+                history.put(entry.getKey(), new Stats(values.getOrDefault("ewmaMillis", 0).doubleValue(),
+                    values.getOrDefault("samples", 0).intValue(), values.getOrDefault("lastMillis", 0).longValue()));
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to load test duration history: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * File step that may throw IOException
+     */
+    private interface IoAction {
+        void run() throws IOException;
+    }
+    
+    /**
+     * Smoothed duration of one test method
+     */
+    private static class Stats {
+        private final double ewmaMillis;
+        private final int samples;
+        private final long lastMillis;
+        
+        Stats(double ewmaMillis, int samples, long lastMillis) {
+            this.ewmaMillis = ewmaMillis;
+            this.samples = samples;
+            this.lastMillis = lastMillis;
+        }
+        
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new TreeMap<>();
+            map.put("ewmaMillis", Math.round(ewmaMillis));
+            map.put("samples", samples);
+            map.put("lastMillis", lastMillis);
+            return map;
+        }
+    }
+}
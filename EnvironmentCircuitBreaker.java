@@ -0,0 +1,376 @@
+package com.automation.listeners;
+
+import com.automation.config.ConfigManager;
+import com.automation.utilities.EventLog;
+import org.openqa.selenium.TimeoutException;
+import org.testng.IConfigurationListener;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Stops running tests against an application that is down
+ * Test and configuration failures are reduced to a signature and kept for circuit.window.seconds.
+ * When circuit.failure.threshold of them point at the environment (connection errors, browser
+ * net::ERR_ pages, timeouts) or share the same signature, the application URL is probed with
+ * a plain HTTP request. If the probe fails too, the circuit opens and every following test is
+ * skipped (or failed, with circuit.open.action=fail) before its browser starts. While open the
+ * URL is probed every circuit.probe.interval.seconds; once it answers, the circuit half-opens,
+ * a single trial test runs while the others wait, and its outcome closes or reopens the circuit.
+ */
+public class EnvironmentCircuitBreaker implements IInvokedMethodListener, ITestListener, IConfigurationListener {
+    private static final String[] ENVIRONMENT_MESSAGES = {
+        "connection refused", "connection reset", "err_connection", "err_name_not_resolved",
+        "err_address_unreachable", "err_internet_disconnected", "err_timed_out", "err_empty_response",
+        "err_proxy_connection_failed", "unknown host"
+    };
+    private static final int MAX_SIGNATURE_LENGTH = 120;
+    private static final long WAIT_CHECK_MILLIS = 1000;
+    private static final Deque<Failure> failures = new ArrayDeque<>();
+    private static final ThreadLocal<Boolean> trial = new ThreadLocal<>();
+    private static HttpClient probeClient;
+    private static volatile State state = State.CLOSED;
+    private static String openReason;
+    private static LocalTime openedAt;
+    private static long nextProbeNanos = System.nanoTime();
+    private static Thread trialThread;
+    private static boolean probeRunning;
+    
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+    
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        // Gate the test and the per-test setup that starts its browser; teardown always runs
+        if (ConfigManager.isCircuitBreakerEnabled()
+                && (method.isTestMethod() || method.getTestMethod().isBeforeMethodConfiguration())) {
+            admit();
+        }
+    }
+    
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        finishTrial(true, null);
+    }
+    
+    @Override
+    public void onTestFailure(ITestResult result) {
+        recordFailure(result.getThrowable());
+    }
+    
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        recordFailure(result.getThrowable());
+    }
+    
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        // An attempt that is about to be retried is reported as skipped but did fail
+        if (result.wasRetried()) {
+            recordFailure(result.getThrowable());
+            return;
+        }
+        // A skipped trial proves nothing; let the next test try
+        finishTrial(false, null);
+    }
+    
+    @Override
+    public void onConfigurationFailure(ITestResult result) {
+        recordFailure(result.getThrowable());
+    }
+    
+    /**
+     * Check if tests are currently being short-circuited
+     * @return true while the circuit is open
+     */
+    public static boolean isOpen() {
+        return state == State.OPEN;
+    }
+    
+    /**
+     * Let the current invocation run, or skip/fail it while the environment is down
+     * In half-open state the first caller becomes the trial and the others wait for its outcome.
+     * The probe runs outside the lock; callers arriving while it runs wait for its outcome.
+     */
+    static void admit() {
+        if (state == State.CLOSED || Boolean.TRUE.equals(trial.get())) {
+            return;
+        }
+        while (true) {
+            synchronized (EnvironmentCircuitBreaker.class) {
+                while (state == State.HALF_OPEN || (state == State.OPEN && probeRunning)) {
+                    // A trial whose thread died without an outcome would otherwise hold everyone
+                    if (state == State.HALF_OPEN && (trialThread == null || !trialThread.isAlive())) {
+                        trialThread = Thread.currentThread();
+                        trial.set(Boolean.TRUE);
+                        return;
+                    }
+                    try {
+                        EnvironmentCircuitBreaker.class.wait(WAIT_CHECK_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SkipException("Interrupted while waiting for the environment check");
+                    }
+                }
+                if (state == State.CLOSED) {
+                    return;
+                }
+                long now = System.nanoTime();
+                if (now - nextProbeNanos < 0) {
+                    throw shortCircuit();
+                }
+                // Claim the probe; callers arriving meanwhile wait for its outcome
+                nextProbeNanos = now + probeIntervalNanos();
+                probeRunning = true;
+            }
+            
+            String failure;
+            try {
+                failure = probe();
+            } catch (RuntimeException e) {
+                failure = "probe failed: " + e;
+            }
+            synchronized (EnvironmentCircuitBreaker.class) {
+                probeRunning = false;
+                EnvironmentCircuitBreaker.class.notifyAll();
+                if (state == State.OPEN) {
+                    if (failure != null) {
+                        openReason = failure;
+                        throw shortCircuit();
+                    }
+                    transition(State.HALF_OPEN, "probe succeeded");
+                }
+            }
+        }
+    }
+    
+    /**
+     * Classify a failure; open the circuit when enough recent failures look like an outage
+     * @param failure Test or configuration failure
+     */
+    static void recordFailure(Throwable failure) {
+        if (!ConfigManager.isCircuitBreakerEnabled() || failure == null || failure instanceof SkipException) {
+            return;
+        }
+        boolean environment = isEnvironmentFailure(failure);
+        String signature = signature(failure);
+        if (Boolean.TRUE.equals(trial.get())) {
+            finishTrial(false, environment ? signature : null);
+            return;
+        }
+        
+        int failureCount;
+        synchronized (EnvironmentCircuitBreaker.class) {
+            if (state != State.CLOSED) {
+                return;
+            }
+            long now = System.nanoTime();
+            long window = Duration.ofSeconds(ConfigManager.getCircuitWindowSeconds()).toNanos();
+            failures.addLast(new Failure(now, signature, environment));
+            while (!failures.isEmpty() && now - failures.peekFirst().nanos > window) {
+                failures.removeFirst();
+            }
+            
+            int threshold = Math.max(1, ConfigManager.getCircuitFailureThreshold());
+            int environmentCount = 0;
+            Map<String, Integer> bySignature = new HashMap<>();
+            for (Failure recent : failures) {
+                if (recent.environment) {
+                    environmentCount++;
+                }
+                bySignature.merge(recent.signature, 1, Integer::sum);
+            }
+            if ((environmentCount < threshold && bySignature.get(signature) < threshold) || now - nextProbeNanos < 0) {
+                return;
+            }
+            // Claim the probe so concurrent failures do not probe too
+            nextProbeNanos = now + probeIntervalNanos();
+            failureCount = failures.size();
+        }
+        
+        // Many tests failing alike is only an outage if the application itself does not answer
+        String probeFailure = probe();
+        synchronized (EnvironmentCircuitBreaker.class) {
+            if (state != State.CLOSED) {
+                return;
+            }
+            if (probeFailure == null) {
+                failures.clear();
+                Map<String, Object> fields = new LinkedHashMap<>();
+                fields.put("url", ConfigManager.getApplicationUrl());
+                fields.put("signature", signature);
+                fields.put("message", "Repeated failures (" + signature + ") but " + ConfigManager.getApplicationUrl()
+                    + " answers; circuit stays closed");
+                EventLog.publish("circuit_probe_ok", fields);
+                return;
+            }
+            openReason = probeFailure + " after " + failureCount + " failures, latest: " + signature;
+            open();
+        }
+    }
+    
+    /**
+     * End the half-open trial of the current thread
+     * @param passed true if the trial test passed
+     * @param environmentFailure Signature if it failed on the environment, else null
+     */
+    private static void finishTrial(boolean passed, String environmentFailure) {
+        if (!Boolean.TRUE.equals(trial.get())) {
+            return;
+        }
+        trial.remove();
+        synchronized (EnvironmentCircuitBreaker.class) {
+            trialThread = null;
+            if (state == State.HALF_OPEN) {
+                if (passed) {
+                    failures.clear();
+                    transition(State.CLOSED, "trial test passed");
+                } else if (environmentFailure != null) {
+                    openReason = "trial test failed: " + environmentFailure;
+                    open();
+                }
+            }
+            EnvironmentCircuitBreaker.class.notifyAll();
+        }
+    }
+    
+    private static void open() {
+        openedAt = LocalTime.now().truncatedTo(ChronoUnit.SECONDS);
+        nextProbeNanos = System.nanoTime() + probeIntervalNanos();
+        transition(State.OPEN, openReason);
+    }
+    
+    private static void transition(State next, String reason) {
+        State previous = state;
+        state = next;
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("from", previous.name());
+        fields.put("to", next.name());
+        fields.put("url", ConfigManager.getApplicationUrl());
+        fields.put("reason", reason);
+        fields.put("message", "Environment circuit " + previous + " -> " + next + ": " + reason);
+        EventLog.publish("circuit_" + next.name().toLowerCase(Locale.ROOT), fields);
+    }
+    
+    private static RuntimeException shortCircuit() {
+        String message = "Environment down since " + openedAt + " (" + ConfigManager.getApplicationUrl() + "): "
+            + openReason;
+        if ("fail".equalsIgnoreCase(ConfigManager.getCircuitOpenAction())) {
+            return new IllegalStateException(message);
+        }
+        return new SkipException(message);
+    }
+    
+    /**
+     * Request the application URL once; any HTTP answer below 500 counts as up
+     * @return Failure description, or null if the application answered
+     */
+    private static String probe() {
+        String url = ConfigManager.getApplicationUrl();
+        Duration timeout = Duration.ofMillis(ConfigManager.getCircuitProbeTimeoutMillis());
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(timeout).GET().build();
+            int status = getProbeClient(timeout).send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status < 500 ? null : "probe got HTTP " + status;
+        } catch (IOException | IllegalArgumentException e) {
+            return "probe failed: " + e.getClass().getSimpleName()
+                + (e.getMessage() != null ? " " + e.getMessage() : "");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "probe interrupted";
+        }
+    }
+    
+    private static synchronized HttpClient getProbeClient(Duration timeout) {
+        if (probeClient == null) {
+            probeClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        }
+        return probeClient;
+    }
+    
+    private static long probeIntervalNanos() {
+        return Duration.ofSeconds(Math.max(1, ConfigManager.getCircuitProbeIntervalSeconds())).toNanos();
+    }
+    
+    /**
+     * Check if a failure points at the environment rather than the test
+     * @param failure Failure
+     * @return true for connection errors, browser network error pages and timeouts
+     */
+    static boolean isEnvironmentFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException
+                    || cause instanceof UnknownHostException
+                    || cause instanceof NoRouteToHostException
+                    || cause instanceof SocketTimeoutException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+            if (cause.getMessage() != null) {
+                String message = cause.getMessage().toLowerCase(Locale.ROOT);
+                for (String environmentMessage : ENVIRONMENT_MESSAGES) {
+                    if (message.contains(environmentMessage)) {
+                        return true;
+                    }
+                }
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Reduce a failure to what identical failures have in common
+     * Exception type and first message line, with numbers and ids masked
+     * @param failure Failure
+     * @return Signature
+     */
+    static String signature(Throwable failure) {
+        String message = failure.getMessage() != null ? failure.getMessage() : "";
+        int newline = message.indexOf('\n');
+        if (newline >= 0) {
+            message = message.substring(0, newline);
+        }
+        message = message.replaceAll("[0-9a-fA-F]{8,}", "<id>").replaceAll("\\d+", "#");
+        message = message.trim();
+        String signature = failure.getClass().getSimpleName() + (message.isEmpty() ? "" : ": " + message);
+        return signature.length() > MAX_SIGNATURE_LENGTH ? signature.substring(0, MAX_SIGNATURE_LENGTH) : signature;
+    }
+    
+    private static class Failure {
+        private final long nanos;
+        private final String signature;
+        private final boolean environment;
+        
+        Failure(long nanos, String signature, boolean environment) {
+            this.nanos = nanos;
+            this.signature = signature;
+            this.environment = environment;
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package com.automation.utilities;
+
+import com.automation.config.ConfigManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous structured event log
+ * Test threads publish events into a lock-free bounded ring buffer and never touch
+ * stdout or disk; a single background thread serializes them as JSON lines to
+ * reports/events-*.jsonl, echoes them to the console if enabled, and feeds subscribers.
+ * When the ring is full, diagnostic events are dropped and counted rather than blocking the test;
+ * test result events (test_*) wait for space instead, since reports are built from them.
+ */
+public class EventLog {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long WAIT_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final List<Consumer<Map<String, Object>>> subscribers = new CopyOnWriteArrayList<>();
+    private static final AtomicLong publishedCount = new AtomicLong();
+    private static final AtomicLong processedCount = new AtomicLong();
+    private static final AtomicLong droppedCount = new AtomicLong();
+    private static volatile RingBuffer<Map<String, Object>> ring;
+    private static volatile Thread drainer;
+    private static volatile boolean stopping;
+    private static volatile boolean drainerWaiting;
+    private static BufferedWriter writer;
+    private static Path logFile;
+    
+    /**
+     * Publish an event
+     * Field order is preserved; "message" is echoed to the console when console logging is on
+     * @param type Event type, e.g. test_start
+     * @param fields Event fields (may be null)
+     */
+    public static void publish(String type, Map<String, Object> fields) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("timestamp", Instant.now().toString());
+        event.put("type", type);
+        event.put("thread", Thread.currentThread().getName());
+        if (fields != null) {
+            event.putAll(fields);
+        }
+        
+        if (!ConfigManager.isEventLogEnabled()) {
+            Object message = event.get("message");
+            if (message != null) {
+                System.out.println(message);
+            }
+            // Without the drainer, subscribers run on the publishing thread one at a time
+            synchronized (subscribers) {
+                notifySubscribers(event);
+            }
+            return;
+        }
+        
+        RingBuffer<Map<String, Object>> current = getRing();
+        if (current.offer(event) || (type.startsWith("test_") && offerWaiting(current, event))) {
+            publishedCount.incrementAndGet();
+            // Only the publisher that finds the drainer asleep pays for the wake-up
+            if (drainerWaiting) {
+                drainerWaiting = false;
+                Thread thread = drainer;
+                if (thread != null) {
+                    LockSupport.unpark(thread);
+                }
+            }
+        } else {
+            droppedCount.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Wait for the drainer to make room for an event that must not be lost
+     * @param current Ring buffer
+     * @param event Event to enqueue
+     * @return false if the drainer has stopped and the event cannot be queued
+     */
+    private static boolean offerWaiting(RingBuffer<Map<String, Object>> current, Map<String, Object> event) {
+        while (true) {
+            // The drainer field is set just after the ring, so null means it is still starting
+            Thread thread = drainer;
+            if (thread != null && !thread.isAlive()) {
+                return false;
+            }
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+            LockSupport.parkNanos(WAIT_PARK_NANOS);
+            if (current.offer(event)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Register a subscriber called on the drainer thread for every event
+     * When the event log is disabled, subscribers are called synchronously by the publisher
+     * Subscribers must be fast; they delay the log while they run
+     * @param subscriber Event subscriber
+     */
+    public static void addSubscriber(Consumer<Map<String, Object>> subscriber) {
+        subscribers.add(subscriber);
+    }
+    
+    /**
+     * Remove an event subscriber
+     * @param subscriber Event subscriber
+     */
+    public static void removeSubscriber(Consumer<Map<String, Object>> subscriber) {
+        subscribers.remove(subscriber);
+    }
+    
+    /**
+     * Wait until every event published so far is written and flushed
+     * @param timeoutMillis Maximum time to wait
+     * @return true if the log caught up in time
+     */
+    public static boolean flush(long timeoutMillis) {
+        Thread current = drainer;
+        if (current == null) {
+            return true;
+        }
+        
+        long target = publishedCount.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (processedCount.get() < target) {
+            if (System.nanoTime() > deadline || !current.isAlive()) {
+                System.err.println("Event log did not flush in time, " + (target - processedCount.get()) + " event(s) pending");
+                return false;
+            }
+            LockSupport.unpark(current);
+            LockSupport.parkNanos(WAIT_PARK_NANOS);
+        }
+        return true;
+    }
+    
+    /**
+     * Flush using a default timeout of ten seconds
+     * @return true if the log caught up in time
+     */
+    public static boolean flush() {
+        return flush(10_000);
+    }
+    
+    /**
+     * Get the current JSON-lines file
+     * @return Event log file, or null if nothing has been written yet
+     */
+    public static synchronized Path getLogFile() {
+        return logFile;
+    }
+    
+    /**
+     * Get number of events dropped because the ring buffer was full
+     * Test result events are only dropped once the drainer has stopped
+     * @return Dropped event count
+     */
+    public static long getDroppedCount() {
+        return droppedCount.get();
+    }
+    
+    /**
+     * Get the ring buffer, starting the drainer on first use
+     * @return Ring buffer
+     */
+    private static RingBuffer<Map<String, Object>> getRing() {
+        RingBuffer<Map<String, Object>> current = ring;
+        if (current != null) {
+            return current;
+        }
+        
+        synchronized (EventLog.class) {
+            if (ring == null) {
+                ring = new RingBuffer<>(ConfigManager.getEventLogQueueSize());
+                Thread thread = new Thread(EventLog::drain, "event-log-drainer");
+                thread.setDaemon(true);
+                thread.start();
+                drainer = thread;
+                Runtime.getRuntime().addShutdownHook(new Thread(EventLog::shutdown, "event-log-shutdown"));
+            }
+            return ring;
+        }
+    }
+    
+    /**
+     * Drainer loop: write events as they arrive, flush whenever the ring runs empty
+     * When idle the drainer parks until a publisher, flush or shutdown wakes it
+     */
+    private static void drain() {
+        long unflushed = 0;
+        while (true) {
+            Map<String, Object> event = ring.poll();
+            if (event != null) {
+                write(event);
+                unflushed++;
+                continue;
+            }
+            
+            // Events only count as processed once they are flushed to disk
+            if (unflushed > 0) {
+                flushWriter();
+                processedCount.addAndGet(unflushed);
+                unflushed = 0;
+            }
+            if (stopping) {
+                return;
+            }
+            // Announce the park, then look again so an event offered in between is not missed
+            drainerWaiting = true;
+            if (ring.isEmpty() && !stopping) {
+                LockSupport.park(EventLog.class);
+            }
+            drainerWaiting = false;
+        }
+    }
+    
+    private static void write(Map<String, Object> event) {
+        try {
+            String line = MAPPER.writeValueAsString(event);
+            synchronized (EventLog.class) {
+                if (writer == null) {
+                    openWriter();
+                }
+                writer.write(line);
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write event log: " + e.getMessage());
+        }
+        
+        if (ConfigManager.isEventLogConsoleEnabled() && event.get("message") != null) {
+            System.out.println(event.get("message"));
+        }
+        notifySubscribers(event);
+    }
+    
+    private static void notifySubscribers(Map<String, Object> event) {
+        for (Consumer<Map<String, Object>> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (Exception e) {
+                System.err.println("Event log subscriber failed: " + e.getMessage());
+            }
+        }
+    }
+    
+    private static void openWriter() throws IOException {
+        Path reportsDir = Paths.get(ConfigManager.getReportsPath());
+        Files.createDirectories(reportsDir);
+        // The pid keeps files apart when suites run in parallel forks
+        String fileName = String.format("events-%s-%d.jsonl",
+            LocalDateTime.now().format(DATE_FORMAT), ProcessHandle.current().pid());
+        logFile = reportsDir.resolve(fileName);
+        writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8);
+    }
+    
+    private static synchronized void flushWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            System.err.println("Failed to flush event log: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Drain remaining events and close the file on JVM shutdown
+     */
+    private static void shutdown() {
+        flush();
+        stopping = true;
+        Thread current = drainer;
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (droppedCount.get() > 0) {
+            System.err.println("Event log dropped " + droppedCount.get() + " event(s) because its queue was full;"
+                + " raise event.log.queue.size");
+        }
+        
+        synchronized (EventLog.class) {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    System.err.println("Failed to close event log: " + e.getMessage());
+                }
+                writer = null;
+            }
+        }
+    }
+    
+    /**
+     * Bounded lock-free multi-producer queue (Vyukov-style sequence ring)
+     * Each slot carries a sequence number telling producers and consumers whose turn it is,
+     * so offer and poll each cost one CAS and never block.
+     */
+    private static class RingBuffer<T> {
+        private final int mask;
+        private final AtomicReferenceArray<T> slots;
+        private final AtomicLongArray sequences;
+        private final AtomicLong enqueuePosition = new AtomicLong();
+        private final AtomicLong dequeuePosition = new AtomicLong();
+        
+        RingBuffer(int requestedCapacity) {
+            int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+            this.mask = capacity - 1;
+            this.slots = new AtomicReferenceArray<>(capacity);
+            this.sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+        
+        boolean offer(T item) {
+            while (true) {
+                long position = enqueuePosition.get();
+                int index = (int) (position & mask);
+                long difference = sequences.get(index) - position;
+                if (difference == 0) {
+                    if (enqueuePosition.compareAndSet(position, position + 1)) {
+                        slots.lazySet(index, item);
+                        sequences.set(index, position + 1);
+                        return true;
+                    }
+                } else if (difference < 0) {
+                    return false;
+                }
+            }
+        }
+        
+        boolean isEmpty() {
+            long position = dequeuePosition.get();
+            return sequences.get((int) (position & mask)) - (position + 1) < 0;
+        }
+        
+        T poll() {
+            while (true) {
+                long position = dequeuePosition.get();
+                int index = (int) (position & mask);
+                long difference = sequences.get(index) - (position + 1);
+                if (difference == 0) {
+                    if (dequeuePosition.compareAndSet(position, position + 1)) {
+                        T item = slots.get(index);
+                        slots.lazySet(index, null);
+                        sequences.set(index, position + mask + 1);
+                        return item;
+                    }
+                } else if (difference < 0) {
+                    return null;
+                }
+            }
+        }
+    }
+}
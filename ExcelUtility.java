@@ -1,6 +1,8 @@
 package com.automation.utilities;
 
+import com.automation.config.ConfigManager;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.util.IOUtils;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import java.io.FileInputStream;
@@ -10,12 +12,13 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Excel Utility for reading and writing Excel files
- * Supports data-driven testing with Excel data sources
+ * Supports data-driven testing with Excel data sources; the active sheet is the TestDataSource
  */
-public class ExcelUtility {
+public class ExcelUtility implements TestDataSource {
     private Workbook workbook;
     private Sheet sheet;
     private String filePath;
@@ -26,6 +29,12 @@ public class ExcelUtility {
      */
     public ExcelUtility(String filePath) {
         this.filePath = filePath;
+        // Sheets of several hundred thousand rows exceed POI's default 100 MB limit for a single workbook part.
+        // The override is JVM-wide, so it is only applied when excel.max.part.size.mb is set.
+        int maxPartSizeMb = ConfigManager.getExcelMaxPartSizeMb();
+        if (maxPartSizeMb > 0) {
+            IOUtils.setByteArrayMaxOverride((int) Math.min(Integer.MAX_VALUE - 8, maxPartSizeMb * 1024L * 1024L));
+        }
         try {
             FileInputStream fileInputStream = new FileInputStream(filePath);
             workbook = new XSSFWorkbook(fileInputStream);
@@ -139,6 +148,7 @@ public class ExcelUtility {
      * Get all data from sheet as 2D array
      * @return 2D string array with all data
      */
+    @Override
     public String[][] getAllData() {
         int rowCount = getRowCount();
         int colCount = getColumnCount();
@@ -154,10 +164,43 @@ public class ExcelUtility {
         return data;
     }
     
+    /**
+     * Get header row values
+     * @return Column names in column order
+     */
+    @Override
+    public List<String> getHeaders() {
+        List<String> headers = new ArrayList<>();
+        int colCount = getColumnCount();
+        for (int j = 0; j < colCount; j++) {
+            headers.add(getCellData(0, j));
+        }
+        return headers;
+    }
+    
+    /**
+     * Visit each data row (excluding header) without building a copy of the sheet
+     * @param rowConsumer Receives each row's cell values in column order
+     */
+    @Override
+    public void forEachDataRow(Consumer<String[]> rowConsumer) {
+        int rowCount = getRowCount();
+        int colCount = getColumnCount();
+        
+        for (int i = 1; i < rowCount; i++) {
+            String[] values = new String[colCount];
+            for (int j = 0; j < colCount; j++) {
+                values[j] = getCellData(i, j);
+            }
+            rowConsumer.accept(values);
+        }
+    }
+    
     /**
      * Get test data as list of maps (column name -> value)
      * @return List of test data maps
      */
+    @Override
     public List<Map<String, String>> getTestDataAsMaps() {
         List<Map<String, String>> testData = new ArrayList<>();
         int rowCount = getRowCount();
@@ -187,6 +230,7 @@ public class ExcelUtility {
      * @param testCaseColumn Column name containing test case names
      * @return Test data map
      */
+    @Override
     public Map<String, String> getTestDataByName(String testCaseName, String testCaseColumn) {
         List<Map<String, String>> allData = getTestDataAsMaps();
         
@@ -270,6 +314,14 @@ public class ExcelUtility {
         }
     }
     
+    /**
+     * Close workbook
+     */
+    @Override
+    public void close() {
+        closeWorkbook();
+    }
+    
     /**
      * Create new sheet
      * @param sheetName Sheet name
@@ -0,0 +1,334 @@
+package com.automation.utilities;
+
+import com.automation.config.ConfigManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Failure video recorder backed by CDP screencast
+ * Streams screencast frames into a bounded in-memory ring buffer holding the last
+ * N seconds per session. The buffer is encoded and written only when a test fails,
+ * and discarded otherwise, so passing tests cost no disk I/O.
+ * Chrome only sends a frame when the screen changes, so clips are encoded at a fixed rate
+ * with each frame repeated until the next one arrived, on a background encoder thread.
+ */
+public class FailureVideoRecorder {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+    private static final ThreadLocal<FailureVideoRecorder> recorder = new ThreadLocal<>();
+    private static final AtomicLong totalBufferedBytes = new AtomicLong();
+    private static final AtomicLong peakSessionBytes = new AtomicLong();
+    private static final int CLIP_FRAMES_PER_SECOND = 10;
+    private static final int ENCODER_QUEUE_SIZE = 4;
+    private static final Map<DevTools, AtomicReference<FailureVideoRecorder>> frameTargets =
+        Collections.synchronizedMap(new WeakHashMap<>());
+    private static ExecutorService encoder;
+    
+    private final DevTools devTools;
+    private final long windowMillis;
+    private final long maxBytes;
+    private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+    private long bufferedBytes;
+    
+    private FailureVideoRecorder(DevTools devTools, long windowMillis, long maxBytes) {
+        this.devTools = devTools;
+        this.windowMillis = windowMillis;
+        this.maxBytes = maxBytes;
+    }
+    
+    /**
+     * Start recording the given driver's screen into the current thread's ring buffer
+     * Drivers without DevTools support are ignored
+     * @param driver WebDriver instance
+     */
+    public static void attach(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            System.err.println("Video recording not supported for " + driver.getClass().getSimpleName());
+            return;
+        }
+        
+        detach();
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            FailureVideoRecorder sessionRecorder = new FailureVideoRecorder(devTools,
+                ConfigManager.getVideoBufferSeconds() * 1000L,
+                ConfigManager.getVideoBufferMaxMb() * 1024L * 1024L);
+            
+            // DevTools has no way to remove a single listener, so each session gets one that
+            // forwards to its current recorder and is switched off on detach
+            frameTargets.computeIfAbsent(devTools, session -> {
+                AtomicReference<FailureVideoRecorder> target = new AtomicReference<>();
+                session.addListener(new Event<Map<String, Object>>("Page.screencastFrame", input -> input.read(Json.MAP_TYPE)),
+                    event -> {
+                        FailureVideoRecorder current = target.get();
+                        if (current != null) {
+                            current.onFrame(event);
+                        }
+                    });
+                return target;
+            }).set(sessionRecorder);
+            
+            Map<String, Object> params = new HashMap<>();
+            params.put("format", "jpeg");
+            params.put("quality", ConfigManager.getVideoFrameQuality());
+            params.put("maxWidth", ConfigManager.getVideoFrameMaxWidth());
+            params.put("maxHeight", ConfigManager.getVideoFrameMaxHeight());
+            params.put("everyNthFrame", ConfigManager.getVideoEveryNthFrame());
+            devTools.send(new Command<>("Page.startScreencast", params));
+            
+            recorder.set(sessionRecorder);
+        } catch (Exception e) {
+            System.err.println("Failed to start video recording: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Stop recording for the current thread and release its buffer
+     */
+    public static void detach() {
+        FailureVideoRecorder sessionRecorder = recorder.get();
+        if (sessionRecorder == null) {
+            return;
+        }
+        
+        recorder.remove();
+        AtomicReference<FailureVideoRecorder> target = frameTargets.get(sessionRecorder.devTools);
+        if (target != null) {
+            target.compareAndSet(sessionRecorder, null);
+        }
+        try {
+            sessionRecorder.devTools.send(new Command<>("Page.stopScreencast", new HashMap<>()));
+        } catch (Exception e) {
+            // Session may already be gone
+        }
+        sessionRecorder.clear();
+    }
+    
+    /**
+     * Hand the current thread's buffer to the encoder and return where the clip will be written
+     * The buffer is cleared afterwards; the file appears once encoding and the write finish
+     * @param testName Test name for file naming
+     * @return Video file path, or null if nothing was recorded
+     */
+    public static String saveFailureClip(String testName) {
+        FailureVideoRecorder sessionRecorder = recorder.get();
+        if (sessionRecorder == null) {
+            return null;
+        }
+        
+        List<Frame> clip = sessionRecorder.drainFrames();
+        if (clip.isEmpty()) {
+            return null;
+        }
+        
+        // The last frame was on screen until the failure
+        long endMillis = System.currentTimeMillis();
+        long windowMillis = sessionRecorder.windowMillis;
+        String timestamp = LocalDateTime.now().format(DATE_FORMAT);
+        String filePath = ConfigManager.getVideosPath() + File.separator
+            + String.format("%s_%s.avi", testName, timestamp);
+        
+        try {
+            getEncoder().execute(() -> {
+                try {
+                    // Disk I/O goes through the bounded screenshot writer
+                    ScreenshotWriter.submit(MjpegAviWriter.encode(resample(clip, endMillis, windowMillis),
+                        CLIP_FRAMES_PER_SECOND), filePath);
+                } catch (RuntimeException e) {
+                    System.err.println("Failed to encode failure video " + filePath + ": " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Each queued clip holds its frames in memory; a burst of failures must not pile them up
+            System.err.println("Failure video encoder busy, dropped clip for " + testName);
+            return null;
+        }
+        return filePath;
+    }
+    
+    /**
+     * Wait for clips still being encoded to reach the screenshot writer
+     * Call before ScreenshotWriter.drain() so their files are written too
+     * @param timeoutSeconds Maximum time to wait
+     * @return true if every clip was handed over in time
+     */
+    public static boolean drain(long timeoutSeconds) {
+        ExecutorService current;
+        synchronized (FailureVideoRecorder.class) {
+            current = encoder;
+            encoder = null;
+        }
+        if (current == null) {
+            return true;
+        }
+        
+        current.shutdown();
+        try {
+            if (current.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.err.println("Failure video encoder did not finish in time");
+        return false;
+    }
+    
+    /**
+     * Lay out frames on a fixed-rate timeline, repeating each until the next one arrived
+     * Only the last windowMillis before endMillis are kept, however long the screen sat unchanged
+     * @param clip Buffered frames, oldest first
+     * @param endMillis When the clip ends
+     * @param windowMillis Clip length limit (video.buffer.seconds)
+     * @return One JPEG per output frame
+     */
+    private static List<byte[]> resample(List<Frame> clip, long endMillis, long windowMillis) {
+        long startMillis = Math.max(clip.get(0).timestampMillis, endMillis - windowMillis);
+        long stepMillis = 1000 / CLIP_FRAMES_PER_SECOND;
+        long maxCount = windowMillis / stepMillis + 1;
+        long count = Math.min(maxCount, Math.max(1, (endMillis - startMillis) / stepMillis + 1));
+        List<byte[]> images = new ArrayList<>((int) count);
+        int index = 0;
+        for (long tick = 0; tick < count; tick++) {
+            long time = startMillis + tick * stepMillis;
+            while (index + 1 < clip.size() && clip.get(index + 1).timestampMillis <= time) {
+                index++;
+            }
+            images.add(clip.get(index).jpeg);
+        }
+        return images;
+    }
+    
+    private static synchronized ExecutorService getEncoder() {
+        if (encoder == null) {
+            encoder = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(ENCODER_QUEUE_SIZE), runnable -> {
+                    Thread thread = new Thread(runnable, "failure-video-encoder");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        }
+        return encoder;
+    }
+    
+    /**
+     * Discard the current thread's buffered frames (test passed or is starting)
+     */
+    public static void discard() {
+        FailureVideoRecorder sessionRecorder = recorder.get();
+        if (sessionRecorder != null) {
+            sessionRecorder.clear();
+        }
+    }
+    
+    /**
+     * Get bytes buffered for the current thread's session
+     * @return Buffered bytes
+     */
+    public static long getSessionBufferedBytes() {
+        FailureVideoRecorder sessionRecorder = recorder.get();
+        if (sessionRecorder == null) {
+            return 0;
+        }
+        synchronized (sessionRecorder) {
+            return sessionRecorder.bufferedBytes;
+        }
+    }
+    
+    /**
+     * Get bytes buffered across all sessions
+     * @return Total buffered bytes
+     */
+    public static long getTotalBufferedBytes() {
+        return totalBufferedBytes.get();
+    }
+    
+    /**
+     * Get the largest buffer any single session has held
+     * @return Peak per-session buffered bytes
+     */
+    public static long getPeakSessionBytes() {
+        return peakSessionBytes.get();
+    }
+    
+    /**
+     * Handle a screencast frame: acknowledge it, then add it to the ring buffer
+     * @param event Page.screencastFrame parameters
+     */
+    private void onFrame(Map<String, Object> event) {
+        Object sessionId = event.get("sessionId");
+        Map<String, Object> ack = new HashMap<>();
+        ack.put("sessionId", sessionId);
+        try {
+            devTools.send(new Command<>("Page.screencastFrameAck", ack).doesNotSendResponse());
+        } catch (Exception e) {
+            return;
+        }
+        
+        byte[] jpeg = Base64.getDecoder().decode((String) event.get("data"));
+        add(new Frame(System.currentTimeMillis(), jpeg));
+    }
+    
+    private synchronized void add(Frame frame) {
+        frames.addLast(frame);
+        bufferedBytes += frame.jpeg.length;
+        totalBufferedBytes.addAndGet(frame.jpeg.length);
+        
+        // Evict by age first, then by the memory cap
+        while (!frames.isEmpty() && (frame.timestampMillis - frames.peekFirst().timestampMillis > windowMillis
+                || bufferedBytes > maxBytes)) {
+            Frame evicted = frames.removeFirst();
+            bufferedBytes -= evicted.jpeg.length;
+            totalBufferedBytes.addAndGet(-evicted.jpeg.length);
+        }
+        peakSessionBytes.accumulateAndGet(bufferedBytes, Math::max);
+    }
+    
+    private synchronized List<Frame> drainFrames() {
+        List<Frame> clip = new ArrayList<>(frames);
+        clear();
+        return clip;
+    }
+    
+    private synchronized void clear() {
+        totalBufferedBytes.addAndGet(-bufferedBytes);
+        frames.clear();
+        bufferedBytes = 0;
+    }
+    
+    /**
+     * Single screencast frame
+     */
+    private static class Frame {
+        private final long timestampMillis;
+        private final byte[] jpeg;
+        
+        Frame(long timestampMillis, byte[] jpeg) {
+            this.timestampMillis = timestampMillis;
+            this.jpeg = jpeg;
+        }
+    }
+}
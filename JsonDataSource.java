@@ -0,0 +1,112 @@
+package com.automation.utilities;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * JSON test data source read with Jackson's streaming parser
+ * The file is either an array of flat objects or one object per line (JSON lines). Rows are
+ * parsed token by token, so no tree of the whole document is ever built. The first object's
+ * field names are the header; later objects are matched by field name, missing fields become
+ * empty strings and unknown fields are ignored. Nested objects and arrays are kept as JSON text.
+ */
+public class JsonDataSource implements TestDataSource {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+    private final File file;
+    private final List<String> headers;
+    
+    /**
+     * Open a JSON data file and read the header from its first object
+     * @param filePath JSON or JSON lines file path
+     */
+    public JsonDataSource(String filePath) {
+        file = new File(filePath);
+        List<String> names = new ArrayList<>();
+        try (JsonParser parser = FACTORY.createParser(file)) {
+            if (startRows(parser) && parser.currentToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    names.add(parser.getCurrentName());
+                    parser.nextToken();
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load JSON file: " + filePath, e);
+        }
+        headers = Collections.unmodifiableList(names);
+    }
+    
+    @Override
+    public List<String> getHeaders() {
+        return headers;
+    }
+    
+    @Override
+    public void forEachDataRow(Consumer<String[]> rowConsumer) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < headers.size(); i++) {
+            columns.put(headers.get(i), i);
+        }
+        
+        try (JsonParser parser = FACTORY.createParser(file)) {
+            if (!startRows(parser)) {
+                return;
+            }
+            while (parser.currentToken() == JsonToken.START_OBJECT) {
+                String[] values = new String[headers.size()];
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    Integer column = columns.get(parser.getCurrentName());
+                    JsonToken value = parser.nextToken();
+                    if (column == null) {
+                        parser.skipChildren();
+                    } else if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                        values[column] = MAPPER.writeValueAsString(parser.readValueAsTree());
+                    } else if (value != JsonToken.VALUE_NULL) {
+                        values[column] = parser.getText();
+                    }
+                }
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] == null) {
+                        values[i] = "";
+                    }
+                }
+                rowConsumer.accept(values);
+                parser.nextToken();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read JSON file: " + file + ": " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Nothing is held open between passes
+     */
+    @Override
+    public void close() {
+    }
+    
+    /**
+     * Position the parser on the first row object
+     * @param parser New parser
+     * @return false if the file holds no rows
+     */
+    private static boolean startRows(JsonParser parser) throws IOException {
+        JsonToken first = parser.nextToken();
+        if (first == JsonToken.START_ARRAY) {
+            parser.nextToken();
+        }
+        return parser.currentToken() == JsonToken.START_OBJECT;
+    }
+}
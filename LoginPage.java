@@ -1,6 +1,9 @@
 package com.automation.pages;
 
+import com.automation.config.ConfigManager;
 import com.automation.keywords.WebKeywords;
+import com.automation.utilities.BrowserStateSnapshot;
+import com.automation.utilities.SessionSeeder;
 import org.openqa.selenium.By;
 
 /**
@@ -131,6 +134,45 @@ public class LoginPage {
         clickLoginButton();
     }
     
+    /**
+     * Log in and open the application, skipping the login form when session seeding is enabled
+     * Tests that exercise the login form itself should use performLogin instead
+     * @param username Username
+     * @param password Password
+     */
+    public static void loginAs(String username, String password) {
+        if (ConfigManager.isSessionSeedingEnabled()) {
+            SessionSeeder.seedSession(username, password);
+            WebKeywords.navigateToURL(ConfigManager.getApplicationUrl());
+        } else {
+            WebKeywords.navigateToURL(ConfigManager.getApplicationUrl());
+            performLogin(username, password);
+        }
+    }
+    
+    /**
+     * Log in by restoring the user's captured browser state, falling back to the login form
+     * After a form login the resulting state is captured for the next test
+     * @param username Username
+     * @param password Password
+     */
+    public static void loginWithSnapshot(String username, String password) {
+        BrowserStateSnapshot.restoreOrLogin(username, () -> {
+            WebKeywords.navigateToURL(ConfigManager.getApplicationUrl());
+            performLogin(username, password);
+            WebKeywords.waitForElementVisible(SUCCESS_MESSAGE, ConfigManager.getExplicitWait());
+        }, LoginPage::isLoggedIn);
+    }
+    
+    /**
+     * Check that the open page is not asking for a login
+     * Checked with a script so a logged-in page does not wait out the implicit wait
+     * @return true if no login button is on the page
+     */
+    public static boolean isLoggedIn() {
+        return Boolean.TRUE.equals(WebKeywords.executeJavaScript("return document.getElementById('loginButton') === null;"));
+    }
+    
     /**
      * Clear login form
      */
@@ -0,0 +1,96 @@
+package com.automation.listeners;
+
+import com.automation.config.ConfigManager;
+import com.automation.utilities.DurationHistory;
+import com.automation.utilities.EventLog;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * TestNG method interceptor that runs the longest tests first
+ * Orders each test's methods by predicted duration from DurationHistory (LPT scheduling),
+ * so a slow method never starts last and leaves the other worker threads idle.
+ * Methods without history are placed using the median known duration.
+ * Only tests declared with preserve-order="false" are reordered; TestNG preserves order by default.
+ */
+public class LongestFirstInterceptor implements IMethodInterceptor {
+    public static final String PREDICTED_MAKESPAN_ATTRIBUTE = "predictedMakespanMillis";
+    
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!ConfigManager.isLongestFirstSchedulingEnabled() || methods.size() < 2
+                || Boolean.TRUE.equals(context.getCurrentXmlTest().getPreserveOrder())) {
+            return methods;
+        }
+        
+        DurationHistory history = DurationHistory.getInstance();
+        long fallback = history.medianEstimate();
+        Map<IMethodInstance, Long> predicted = new LinkedHashMap<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            long estimate = history.estimate(DurationHistory.key(method.getRealClass().getName(), method.getMethodName()));
+            predicted.put(instance, estimate >= 0 ? estimate : fallback);
+        }
+        
+        // Stable sort keeps declaration order among equal predictions
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.comparingLong((IMethodInstance instance) -> predicted.get(instance)).reversed());
+        
+        int threads = getThreadCount(context);
+        long makespan = predictMakespan(ordered, predicted, threads);
+        context.setAttribute(PREDICTED_MAKESPAN_ATTRIBUTE, makespan);
+        
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("context", context.getName());
+        fields.put("methods", ordered.size());
+        fields.put("threads", threads);
+        fields.put("predictedMakespanMillis", makespan);
+        fields.put("message", String.format("Longest-first order for %s: %d method(s) on %d thread(s), predicted makespan %.1fs",
+            context.getName(), ordered.size(), threads, makespan / 1000.0));
+        EventLog.publish("schedule", fields);
+        return ordered;
+    }
+    
+    /**
+     * Simulate greedy assignment of the ordered methods to the least-loaded thread
+     * @param ordered Methods in execution order
+     * @param predicted Predicted duration per method
+     * @param threads Worker thread count
+     * @return Predicted wall-clock time in milliseconds
+     */
+    static long predictMakespan(List<IMethodInstance> ordered, Map<IMethodInstance, Long> predicted, int threads) {
+        PriorityQueue<Long> loads = new PriorityQueue<>();
+        for (int i = 0; i < threads; i++) {
+            loads.add(0L);
+        }
+        long makespan = 0;
+        for (IMethodInstance instance : ordered) {
+            long finish = loads.poll() + predicted.get(instance);
+            makespan = Math.max(makespan, finish);
+            loads.add(finish);
+        }
+        return makespan;
+    }
+    
+    /**
+     * Get the number of threads methods of this context run on
+     * @param context Test context
+     * @return Thread count (1 when the test does not run methods in parallel)
+     */
+    private static int getThreadCount(ITestContext context) {
+        String parallel = String.valueOf(context.getCurrentXmlTest().getParallel());
+        if ("none".equalsIgnoreCase(parallel) || "false".equalsIgnoreCase(parallel)) {
+            return 1;
+        }
+        return Math.max(1, context.getCurrentXmlTest().getThreadCount());
+    }
+}
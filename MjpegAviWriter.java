@@ -0,0 +1,149 @@
+package com.automation.utilities;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Minimal Motion-JPEG AVI encoder
+ * Wraps already-encoded JPEG frames in an AVI container (RIFF, one video stream,
+ * idx1 index), so clips play in VLC, ffplay and most desktop players without transcoding
+ */
+class MjpegAviWriter {
+    private static final int AVIF_HASINDEX = 0x10;
+    private static final int AVIIF_KEYFRAME = 0x10;
+    
+    private MjpegAviWriter() {
+    }
+    
+    /**
+     * Encode JPEG frames as an AVI file
+     * @param frames JPEG frames in display order
+     * @param framesPerSecond Playback rate
+     * @return AVI file bytes
+     */
+    static byte[] encode(List<byte[]> frames, int framesPerSecond) {
+        int[] size = jpegSize(frames.get(0));
+        int width = size[0];
+        int height = size[1];
+        int fps = Math.max(1, framesPerSecond);
+        int maxFrame = frames.stream().mapToInt(frame -> frame.length).max().orElse(0);
+        
+        // movi list payload: "movi" + one 00dc chunk per frame (padded to even length)
+        long moviBytes = 4;
+        for (byte[] frame : frames) {
+            moviBytes += 8 + frame.length + (frame.length & 1);
+        }
+        long idxBytes = 16L * frames.size();
+        int hdrlSize = 4 + (8 + 56) + (8 + 4 + (8 + 56) + (8 + 40));
+        long riffBytes = 4 + (8 + hdrlSize) + (8 + moviBytes) + (8 + idxBytes);
+        // RIFF sizes are 32-bit and the file is built in one array
+        if (riffBytes > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Clip too large for one AVI file: " + frames.size() + " frames, "
+                + riffBytes + " bytes");
+        }
+        int moviSize = (int) moviBytes;
+        int idxSize = (int) idxBytes;
+        int riffSize = (int) riffBytes;
+        
+        ByteBuffer out = ByteBuffer.allocate(8 + riffSize).order(ByteOrder.LITTLE_ENDIAN);
+        fourCc(out, "RIFF").putInt(riffSize);
+        fourCc(out, "AVI ");
+        
+        fourCc(out, "LIST").putInt(hdrlSize);
+        fourCc(out, "hdrl");
+        fourCc(out, "avih").putInt(56);
+        out.putInt(1_000_000 / fps);
+        out.putInt(maxFrame * fps);
+        out.putInt(0);
+        out.putInt(AVIF_HASINDEX);
+        out.putInt(frames.size());
+        out.putInt(0);
+        out.putInt(1);
+        out.putInt(maxFrame);
+        out.putInt(width);
+        out.putInt(height);
+        out.putInt(0).putInt(0).putInt(0).putInt(0);
+        
+        fourCc(out, "LIST").putInt(4 + (8 + 56) + (8 + 40));
+        fourCc(out, "strl");
+        fourCc(out, "strh").putInt(56);
+        fourCc(out, "vids");
+        fourCc(out, "MJPG");
+        out.putInt(0);
+        out.putShort((short) 0).putShort((short) 0);
+        out.putInt(0);
+        out.putInt(1);
+        out.putInt(fps);
+        out.putInt(0);
+        out.putInt(frames.size());
+        out.putInt(maxFrame);
+        out.putInt(-1);
+        out.putInt(0);
+        out.putShort((short) 0).putShort((short) 0).putShort((short) width).putShort((short) height);
+        
+        fourCc(out, "strf").putInt(40);
+        out.putInt(40);
+        out.putInt(width);
+        out.putInt(height);
+        out.putShort((short) 1);
+        out.putShort((short) 24);
+        fourCc(out, "MJPG");
+        out.putInt(width * height * 3);
+        out.putInt(0).putInt(0).putInt(0).putInt(0);
+        
+        fourCc(out, "LIST").putInt(moviSize);
+        int moviStart = out.position();
+        fourCc(out, "movi");
+        int[] offsets = new int[frames.size()];
+        for (int i = 0; i < frames.size(); i++) {
+            byte[] frame = frames.get(i);
+            offsets[i] = out.position() - moviStart;
+            fourCc(out, "00dc").putInt(frame.length);
+            out.put(frame);
+            if ((frame.length & 1) == 1) {
+                out.put((byte) 0);
+            }
+        }
+        
+        fourCc(out, "idx1").putInt(idxSize);
+        for (int i = 0; i < frames.size(); i++) {
+            fourCc(out, "00dc");
+            out.putInt(AVIIF_KEYFRAME);
+            out.putInt(offsets[i]);
+            out.putInt(frames.get(i).length);
+        }
+        
+        return out.array();
+    }
+    
+    private static ByteBuffer fourCc(ByteBuffer out, String code) {
+        return out.put(code.getBytes(StandardCharsets.US_ASCII));
+    }
+    
+    /**
+     * Read width and height from a JPEG start-of-frame marker
+     * @param jpeg JPEG bytes
+     * @return {width, height}, or {0, 0} if no frame header was found
+     */
+    static int[] jpegSize(byte[] jpeg) {
+        int i = 2;
+        while (i + 9 < jpeg.length) {
+            if ((jpeg[i] & 0xFF) != 0xFF) {
+                i++;
+                continue;
+            }
+            int marker = jpeg[i + 1] & 0xFF;
+            int length = ((jpeg[i + 2] & 0xFF) << 8) | (jpeg[i + 3] & 0xFF);
+            // SOF0..SOF15, excluding DHT (C4), JPG (C8) and DAC (CC)
+            if (marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC) {
+                int height = ((jpeg[i + 5] & 0xFF) << 8) | (jpeg[i + 6] & 0xFF);
+                int width = ((jpeg[i + 7] & 0xFF) << 8) | (jpeg[i + 8] & 0xFF);
+                return new int[] {width, height};
+            }
+            i += 2 + length;
+        }
+        return new int[] {0, 0};
+    }
+}
@@ -0,0 +1,311 @@
+package com.automation.utilities;
+
+import com.automation.config.ConfigManager;
+import com.automation.drivers.DriverManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Page-load timing collection for functional runs
+ * With performance.monitoring enabled, every navigation made through WebKeywords reads the
+ * Navigation Timing entry and the slowest Resource Timing entries from the browser. Timings
+ * are kept for the whole run, exported as JSON and CSV at suite end, and can be asserted
+ * against response.time.threshold.
+ */
+public class PerformanceMonitor {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    private static final ConcurrentLinkedQueue<Map<String, Object>> timings = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<Map<String, Object>> lastTiming = new ThreadLocal<>();
+    private static final ThreadLocal<String> currentTest = new ThreadLocal<>();
+    private static final String TIMING_SCRIPT =
+        "var nav = performance.getEntriesByType('navigation')[0];"
+        + "if (!nav || nav.loadEventEnd === 0) { return null; }"
+        + "var resources = performance.getEntriesByType('resource').map(function (r) {"
+        + "  return {name: r.name, initiatorType: r.initiatorType, duration: Math.round(r.duration),"
+        + "          transferSize: r.transferSize || 0};"
+        + "});"
+        + "resources.sort(function (a, b) { return b.duration - a.duration; });"
+        + "return {url: nav.name, type: nav.type,"
+        + "        ttfb: Math.round(nav.responseStart), domContentLoaded: Math.round(nav.domContentLoadedEventEnd),"
+        + "        load: Math.round(nav.loadEventEnd), transferSize: nav.transferSize || 0,"
+        + "        resourceCount: resources.length, resources: resources.slice(0, arguments[0])};";
+    private static final String WATCH_SCRIPT =
+        "var link = arguments[0].closest('a[href], area[href]');"
+        + "var submit = arguments[0].closest('button, input[type=submit], input[type=image]');"
+        + "var href = link ? link.getAttribute('href') : '';"
+        + "var navigates = (link !== null && !/^\\s*(#|javascript:)/i.test(href))"
+        + "  || (submit !== null && submit.form !== null && (submit.type === 'submit' || submit.type === 'image'));"
+        + "return [document.documentElement, navigates];";
+    
+    /**
+     * Set the test that subsequent timings on this thread belong to
+     * @param testName Test name
+     */
+    public static void setCurrentTest(String testName) {
+        currentTest.set(testName);
+    }
+    
+    /**
+     * Read the current document's root element before clicking, used to detect whether the click navigated
+     * Costs one driver round trip per click while monitoring is enabled; the same script checks
+     * whether the target is a link or a form submit button
+     * @param target Element about to be clicked
+     * @return Navigation watch, or null if monitoring is disabled or unavailable
+     */
+    public static NavigationWatch watchNavigation(WebElement target) {
+        if (!ConfigManager.isPerformanceMonitoringEnabled()) {
+            return null;
+        }
+        try {
+            List<?> result = (List<?>) ((JavascriptExecutor) DriverManager.getDriver()).executeScript(WATCH_SCRIPT, target);
+            return new NavigationWatch((WebElement) result.get(0), Boolean.TRUE.equals(result.get(1)));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Record timings if the click replaced the document
+     * A navigation started by a link or submit button only replaces the document once the response
+     * arrives, so those clicks wait up to performance.navigation.wait.ms for the old root element to
+     * go stale. Other clicks are checked once, without waiting.
+     * @param watch Watch taken before the click
+     * @param trigger Description of the action
+     */
+    public static void recordIfNavigated(NavigationWatch watch, String trigger) {
+        if (watch == null) {
+            return;
+        }
+        try {
+            if (watch.linkOrSubmit) {
+                new WebDriverWait(DriverManager.getDriver(), Duration.ofMillis(ConfigManager.getPerformanceNavigationWaitMillis()))
+                    .pollingEvery(Duration.ofMillis(50))
+                    .until(ExpectedConditions.stalenessOf(watch.document));
+            } else if (!ExpectedConditions.stalenessOf(watch.document).apply(DriverManager.getDriver())) {
+                return;
+            }
+        } catch (TimeoutException e) {
+            return;
+        } catch (Exception e) {
+            System.err.println("Failed to detect navigation: " + e.getMessage());
+            return;
+        }
+        recordNavigation(trigger);
+    }
+    
+    /**
+     * Record the current document's timings, waiting for its load event to finish
+     * @param trigger Description of what caused the navigation
+     * @return Recorded timing, or null if monitoring is disabled or no timing was available
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> recordNavigation(String trigger) {
+        if (!ConfigManager.isPerformanceMonitoringEnabled()) {
+            return null;
+        }
+        
+        WebDriver driver = DriverManager.getDriver();
+        Map<String, Object> timing = null;
+        long deadline = System.currentTimeMillis() + ConfigManager.getExplicitWait() * 1000L;
+        try {
+            while (true) {
+                timing = (Map<String, Object>) ((JavascriptExecutor) driver)
+                    .executeScript(TIMING_SCRIPT, ConfigManager.getPerformanceTopResources());
+                if (timing != null || System.currentTimeMillis() >= deadline) {
+                    break;
+                }
+                Thread.sleep(50);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Failed to read page timings: " + e.getMessage());
+        }
+        if (timing == null) {
+            return null;
+        }
+        
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("test", currentTest.get());
+        record.put("trigger", trigger);
+        record.putAll(timing);
+        long threshold = ConfigManager.getResponseTimeThreshold();
+        record.put("overThreshold", toLong(timing.get("load")) > threshold);
+        timings.add(record);
+        lastTiming.set(record);
+        
+        Map<String, Object> fields = new LinkedHashMap<>(record);
+        fields.remove("resources");
+        if (Boolean.TRUE.equals(record.get("overThreshold"))) {
+            fields.put("message", String.format("Page load %d ms over %d ms budget: %s",
+                toLong(timing.get("load")), threshold, timing.get("url")));
+        }
+        EventLog.publish("page_timing", fields);
+        return record;
+    }
+    
+    /**
+     * Get the last timing recorded on this thread
+     * @return Timing, or null if none was recorded
+     */
+    public static Map<String, Object> getLastTiming() {
+        return lastTiming.get();
+    }
+    
+    /**
+     * Assert the last page load on this thread finished within response.time.threshold
+     */
+    public static void assertPageLoadWithinThreshold() {
+        assertPageLoadWithin(ConfigManager.getResponseTimeThreshold());
+    }
+    
+    /**
+     * Assert the last page load on this thread finished within a budget
+     * @param maxMillis Budget for loadEventEnd in milliseconds
+     */
+    public static void assertPageLoadWithin(long maxMillis) {
+        Map<String, Object> timing = lastTiming.get();
+        if (timing == null) {
+            throw new AssertionError("No page timing recorded, is performance.monitoring enabled?");
+        }
+        long load = toLong(timing.get("load"));
+        if (load > maxMillis) {
+            throw new AssertionError(String.format("Page load of %s took %d ms (TTFB %d ms), budget %d ms",
+                timing.get("url"), load, toLong(timing.get("ttfb")), maxMillis));
+        }
+    }
+    
+    /**
+     * Get all timings recorded this run
+     * @return Timings in recording order
+     */
+    public static List<Map<String, Object>> getTimings() {
+        return Collections.unmodifiableList(new ArrayList<>(timings));
+    }
+    
+    /**
+     * Write this run's timings to reports/performance-*.json and reports/performance-*.csv
+     * The JSON also carries a per-URL summary
+     * @return JSON file path, or null if nothing was recorded
+     */
+    public static Path export() {
+        List<Map<String, Object>> records = new ArrayList<>(timings);
+        if (records.isEmpty()) {
+            return null;
+        }
+        
+        String baseName = String.format("performance-%s-%d",
+            LocalDateTime.now().format(DATE_FORMAT), ProcessHandle.current().pid());
+        Path reportsDir = Paths.get(ConfigManager.getReportsPath());
+        Path jsonFile = reportsDir.resolve(baseName + ".json");
+        try {
+            Files.createDirectories(reportsDir);
+            Map<String, Object> document = new LinkedHashMap<>();
+            document.put("threshold", ConfigManager.getResponseTimeThreshold());
+            document.put("summary", summarize(records));
+            document.put("navigations", records);
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(jsonFile.toFile(), document);
+            
+            try (BufferedWriter writer = Files.newBufferedWriter(reportsDir.resolve(baseName + ".csv"), StandardCharsets.UTF_8)) {
+                writer.write("test,trigger,url,type,ttfb,domContentLoaded,load,transferSize,resourceCount,"
+                    + "slowestResource,slowestResourceMillis,overThreshold");
+                writer.newLine();
+                for (Map<String, Object> record : records) {
+                    @SuppressWarnings("unchecked")
+                    List<Map<String, Object>> resources = (List<Map<String, Object>>) record.get("resources");
+                    Map<String, Object> slowest = resources == null || resources.isEmpty()
+                        ? Collections.emptyMap() : resources.get(0);
+                    writer.write(String.join(",", csv(record.get("test")), csv(record.get("trigger")),
+                        csv(record.get("url")), csv(record.get("type")), csv(record.get("ttfb")),
+                        csv(record.get("domContentLoaded")), csv(record.get("load")), csv(record.get("transferSize")),
+                        csv(record.get("resourceCount")), csv(slowest.get("name")), csv(slowest.get("duration")),
+                        csv(record.get("overThreshold"))));
+                    writer.newLine();
+                }
+            }
+            System.out.println("Page timings written to: " + jsonFile);
+            return jsonFile;
+        } catch (IOException e) {
+            System.err.println("Failed to export page timings: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Summarize load times per URL
+     * @param records Timings
+     * @return URL to count, median and max load
+     */
+    private static Map<String, Map<String, Object>> summarize(List<Map<String, Object>> records) {
+        Map<String, List<Long>> loadsByUrl = new TreeMap<>();
+        for (Map<String, Object> record : records) {
+            loadsByUrl.computeIfAbsent(String.valueOf(record.get("url")), url -> new ArrayList<>())
+                .add(toLong(record.get("load")));
+        }
+        
+        Map<String, Map<String, Object>> summary = new TreeMap<>();
+        long threshold = ConfigManager.getResponseTimeThreshold();
+        for (Map.Entry<String, List<Long>> entry : loadsByUrl.entrySet()) {
+            List<Long> loads = entry.getValue();
+            Collections.sort(loads);
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", loads.size());
+            stats.put("medianLoad", loads.get(loads.size() / 2));
+            stats.put("maxLoad", loads.get(loads.size() - 1));
+            stats.put("overThreshold", loads.stream().filter(load -> load > threshold).count());
+            summary.put(entry.getKey(), stats);
+        }
+        return summary;
+    }
+    
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+    
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+    
+    /**
+     * Document state captured before a click
+     */
+    public static class NavigationWatch {
+        private final WebElement document;
+        private final boolean linkOrSubmit;
+        
+        NavigationWatch(WebElement document, boolean linkOrSubmit) {
+            this.document = document;
+            this.linkOrSubmit = linkOrSubmit;
+        }
+    }
+}
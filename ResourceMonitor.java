@@ -0,0 +1,372 @@
+package com.automation.utilities;
+
+import com.automation.config.ConfigManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Samples the resource footprint of each browser session
+ * With memory.monitoring enabled, every session started by DriverManager is sampled every
+ * memory.monitoring.interval.ms: DevTools Performance.getMetrics (JS heap, DOM nodes,
+ * layouts) where available, plus resident memory and CPU of the driver process and all of
+ * its descendants (the browser processes). Samples are attributed to the test running on
+ * the session and summarized per test at suite end, heaviest tests first.
+ */
+public class ResourceMonitor {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    private static final ThreadLocal<Sampler> sampler = new ThreadLocal<>();
+    private static final Map<String, TestUsage> usageByTest = new ConcurrentHashMap<>();
+    private static final List<Long> sessionPeakRss = Collections.synchronizedList(new ArrayList<>());
+    private static final Set<Sampler> activeSamplers = ConcurrentHashMap.newKeySet();
+    private static ScheduledExecutorService scheduler;
+    
+    /**
+     * Start sampling a new driver session on the current thread
+     * @param driver Driver that was just created
+     */
+    public static void attach(WebDriver driver) {
+        detach();
+        Sampler sessionSampler = new Sampler(driver, findDriverProcess(driver));
+        long interval = Math.max(100, ConfigManager.getMemoryMonitoringIntervalMillis());
+        sessionSampler.task = getScheduler().scheduleAtFixedRate(sessionSampler::sample, 0, interval, TimeUnit.MILLISECONDS);
+        sampler.set(sessionSampler);
+        activeSamplers.add(sessionSampler);
+    }
+    
+    /**
+     * Stop sampling the current thread's session
+     * Call before the driver quits so no sample races the shutdown
+     */
+    public static void detach() {
+        Sampler sessionSampler = sampler.get();
+        if (sessionSampler == null) {
+            return;
+        }
+        sampler.remove();
+        activeSamplers.remove(sessionSampler);
+        sessionSampler.task.cancel(false);
+        synchronized (sessionSampler) {
+            sessionSampler.stopped = true;
+            if (sessionSampler.devTools != null) {
+                try {
+                    sessionSampler.devTools.send(new Command<>("Performance.disable", new HashMap<>()));
+                } catch (Exception e) {
+                    // The session may already be gone
+                }
+            }
+        }
+        sessionPeakRss.add(sessionSampler.peakRssBytes);
+    }
+    
+    /**
+     * Attribute subsequent samples of the current thread's session to a test
+     * @param testName Test name
+     */
+    public static void setCurrentTest(String testName) {
+        Sampler sessionSampler = sampler.get();
+        if (sessionSampler != null) {
+            sessionSampler.currentTest = testName;
+        }
+    }
+    
+    /**
+     * Write per-test usage to reports/resources-*.json, heaviest tests first
+     * Also suggests how many sessions of the measured peak size fit in currently available memory
+     * @return Report file, or null if nothing was sampled
+     */
+    public static Path writeReport() {
+        if (usageByTest.isEmpty()) {
+            return null;
+        }
+        
+        List<Map<String, Object>> tests = usageByTest.entrySet().stream()
+            .map(entry -> entry.getValue().toMap(entry.getKey()))
+            .sorted((a, b) -> Long.compare((Long) b.get("peakRssBytes"), (Long) a.get("peakRssBytes")))
+            .collect(Collectors.toList());
+        int flagged = Math.min(ConfigManager.getMemoryMonitoringTopTests(), tests.size());
+        for (int i = 0; i < tests.size(); i++) {
+            tests.get(i).put("heaviest", i < flagged);
+        }
+        
+        // Sessions still open at suite end count with their peak so far
+        List<Long> peaks;
+        synchronized (sessionPeakRss) {
+            peaks = new ArrayList<>(sessionPeakRss);
+        }
+        for (Sampler open : activeSamplers) {
+            peaks.add(open.peakRssBytes);
+        }
+        long peakSession = peaks.stream().mapToLong(Long::longValue).max().orElse(0);
+        long available = readMemAvailableBytes();
+        Map<String, Object> sessions = new LinkedHashMap<>();
+        sessions.put("count", peaks.size());
+        sessions.put("peakRssBytes", peakSession);
+        sessions.put("memAvailableBytes", available);
+        sessions.put("suggestedMaxSessions", peakSession > 0 && available > 0 ? Math.max(1, available / peakSession) : null);
+        
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("intervalMillis", ConfigManager.getMemoryMonitoringIntervalMillis());
+        document.put("sessions", sessions);
+        document.put("tests", tests);
+        
+        Path reportsDir = Paths.get(ConfigManager.getReportsPath());
+        Path reportFile = reportsDir.resolve(String.format("resources-%s-%d.json",
+            LocalDateTime.now().format(DATE_FORMAT), ProcessHandle.current().pid()));
+        try {
+            Files.createDirectories(reportsDir);
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), document);
+        } catch (IOException e) {
+            System.err.println("Failed to write resource report: " + e.getMessage());
+            return null;
+        }
+        
+        System.out.println("Resource report written to: " + reportFile);
+        for (int i = 0; i < flagged; i++) {
+            Map<String, Object> test = tests.get(i);
+            System.out.println(String.format("  Heavy test %s: peak RSS %.1f MB, peak CPU %.0f%%",
+                test.get("test"), (Long) test.get("peakRssBytes") / (1024.0 * 1024.0), test.get("peakCpuPercent")));
+        }
+        return reportFile;
+    }
+    
+    /**
+     * Get resident memory of every process started by this JVM (drivers and browsers)
+     * Linux only, 0 elsewhere
+     * @return Resident bytes
+     */
+    public static long getChildProcessRssBytes() {
+        return ProcessHandle.current().descendants().mapToLong(process -> readRssBytes(process.pid())).sum();
+    }
+    
+    /**
+     * Get memory available to new processes without swapping
+     * Linux only, 0 elsewhere
+     * @return Available bytes
+     */
+    public static long getMemAvailableBytes() {
+        return readMemAvailableBytes();
+    }
+    
+    /**
+     * Find the local driver server process (chromedriver, geckodriver, ...) behind a session
+     * The server is a child of this JVM and was started with --port set to the port the driver talks to
+     * @param driver Driver
+     * @return Driver process, or null for remote sessions
+     */
+    public static ProcessHandle findDriverProcess(WebDriver driver) {
+        if (!(driver instanceof RemoteWebDriver)) {
+            return null;
+        }
+        CommandExecutor executor = ((RemoteWebDriver) driver).getCommandExecutor();
+        if (!(executor instanceof HttpCommandExecutor)) {
+            return null;
+        }
+        int port = ((HttpCommandExecutor) executor).getAddressOfRemoteServer().getPort();
+        return findChildWithPort(port);
+    }
+    
+    private static ProcessHandle findChildWithPort(int port) {
+        String portArgument = "--port=" + port;
+        return ProcessHandle.current().children()
+            .filter(child -> child.info().arguments()
+                .map(arguments -> Stream.of(arguments).anyMatch(portArgument::equals))
+                .orElse(false))
+            .findFirst()
+            .orElse(null);
+    }
+    
+    /**
+     * Sum resident memory and CPU time of a process and its descendants
+     * Resident memory is read from /proc and is only available on Linux
+     * @param root Root process
+     * @return Resident bytes and total CPU nanoseconds
+     */
+    private static long[] processTreeUsage(ProcessHandle root) {
+        long rssBytes = 0;
+        long cpuNanos = 0;
+        List<ProcessHandle> tree = new ArrayList<>();
+        tree.add(root);
+        root.descendants().forEach(tree::add);
+        for (ProcessHandle process : tree) {
+            rssBytes += readRssBytes(process.pid());
+            cpuNanos += process.info().totalCpuDuration().map(Duration::toNanos).orElse(0L);
+        }
+        return new long[] {rssBytes, cpuNanos};
+    }
+    
+    private static long readRssBytes(long pid) {
+        return readKilobytes(Paths.get("/proc", String.valueOf(pid), "status"), "VmRSS:") * 1024;
+    }
+    
+    private static long readMemAvailableBytes() {
+        return readKilobytes(Paths.get("/proc/meminfo"), "MemAvailable:") * 1024;
+    }
+    
+    private static long readKilobytes(Path file, String field) {
+        try {
+            for (String line : Files.readAllLines(file)) {
+                if (line.startsWith(field)) {
+                    return Long.parseLong(line.substring(field.length()).replace("kB", "").trim());
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Process exited or /proc is unavailable
+        }
+        return 0;
+    }
+    
+    private static synchronized ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "resource-monitor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return scheduler;
+    }
+    
+    /**
+     * Periodic sampler bound to one driver session
+     */
+    private static class Sampler {
+        private final ProcessHandle driverProcess;
+        private DevTools devTools;
+        private ScheduledFuture<?> task;
+        private volatile String currentTest = "(no test)";
+        private boolean stopped;
+        private long lastCpuNanos = -1;
+        private long lastSampleNanos;
+        private volatile long peakRssBytes;
+        
+        Sampler(WebDriver driver, ProcessHandle driverProcess) {
+            this.driverProcess = driverProcess;
+            if (driver instanceof HasDevTools) {
+                try {
+                    devTools = ((HasDevTools) driver).getDevTools();
+                    devTools.createSessionIfThereIsNotOne();
+                    devTools.send(new Command<>("Performance.enable", new HashMap<>()));
+                } catch (Exception e) {
+                    System.err.println("Browser metrics unavailable for resource monitoring: " + e.getMessage());
+                    devTools = null;
+                }
+            }
+        }
+        
+        synchronized void sample() {
+            if (stopped) {
+                return;
+            }
+            try {
+                Map<String, Object> sample = new LinkedHashMap<>();
+                if (driverProcess != null && driverProcess.isAlive()) {
+                    long[] usage = processTreeUsage(driverProcess);
+                    long now = System.nanoTime();
+                    sample.put("rssBytes", usage[0]);
+                    if (lastCpuNanos >= 0 && now > lastSampleNanos) {
+                        sample.put("cpuPercent", Math.max(0, usage[1] - lastCpuNanos) * 100.0 / (now - lastSampleNanos));
+                    }
+                    lastCpuNanos = usage[1];
+                    lastSampleNanos = now;
+                    peakRssBytes = Math.max(peakRssBytes, usage[0]);
+                }
+                if (devTools != null) {
+                    sample.putAll(readBrowserMetrics());
+                }
+                if (!sample.isEmpty()) {
+                    usageByTest.computeIfAbsent(currentTest, test -> new TestUsage()).add(sample);
+                }
+            } catch (Exception e) {
+                // Sampling must never disturb the test; a closing session simply stops reporting
+            }
+        }
+        
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> readBrowserMetrics() {
+            Map<String, Object> result = devTools.send(new Command<>("Performance.getMetrics", new HashMap<>(),
+                input -> input.read(Json.MAP_TYPE)));
+            Map<String, Object> metrics = new HashMap<>();
+            for (Map<String, Object> metric : (List<Map<String, Object>>) result.get("metrics")) {
+                metrics.put((String) metric.get("name"), metric.get("value"));
+            }
+            return metrics;
+        }
+    }
+    
+    /**
+     * Aggregated samples of one test
+     */
+    private static class TestUsage {
+        private long samples;
+        private long peakRssBytes;
+        private double rssBytesSum;
+        private long rssSamples;
+        private double peakCpuPercent;
+        private double peakJsHeapUsedBytes;
+        private double peakNodes;
+        private double layoutCount;
+        
+        synchronized void add(Map<String, Object> sample) {
+            samples++;
+            Object rss = sample.get("rssBytes");
+            if (rss != null) {
+                long bytes = ((Number) rss).longValue();
+                peakRssBytes = Math.max(peakRssBytes, bytes);
+                rssBytesSum += bytes;
+                rssSamples++;
+            }
+            peakCpuPercent = Math.max(peakCpuPercent, number(sample.get("cpuPercent")));
+            peakJsHeapUsedBytes = Math.max(peakJsHeapUsedBytes, number(sample.get("JSHeapUsedSize")));
+            peakNodes = Math.max(peakNodes, number(sample.get("Nodes")));
+            // LayoutCount is cumulative per page, so the highest reading is the most layouts seen
+            layoutCount = Math.max(layoutCount, number(sample.get("LayoutCount")));
+        }
+        
+        synchronized Map<String, Object> toMap(String test) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("test", test);
+            values.put("samples", samples);
+            values.put("peakRssBytes", peakRssBytes);
+            values.put("meanRssBytes", rssSamples == 0 ? 0L : Math.round(rssBytesSum / rssSamples));
+            values.put("peakCpuPercent", Math.round(peakCpuPercent * 10) / 10.0);
+            values.put("peakJsHeapUsedBytes", Math.round(peakJsHeapUsedBytes));
+            values.put("peakNodes", Math.round(peakNodes));
+            values.put("maxLayoutCount", Math.round(layoutCount));
+            return values;
+        }
+        
+        private static double number(Object value) {
+            return value instanceof Number ? ((Number) value).doubleValue() : 0;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.automation.listeners;
+
+import com.automation.config.ConfigManager;
+import com.automation.utilities.EventLog;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+import java.net.SocketTimeoutException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Retry analyzer that retries only transient failures
+ * Timeouts, stale elements and lost sessions are retried immediately, up to retry.count
+ * times per invocation and within a run-wide retry.budget. Assertion failures are never retried.
+ * A dead browser session is left to the teardown and setup that run around the retry.
+ * Retries per invocation are counted by RetryListener, which installs this analyzer.
+ */
+public class RetryAnalyzer implements IRetryAnalyzer {
+    private static final AtomicInteger budgetUsed = new AtomicInteger();
+    private static final String[] TRANSIENT_MESSAGES = {
+        "chrome not reachable", "disconnected", "target window already closed",
+        "session deleted", "connection refused", "net::err_"
+    };
+    
+    @Override
+    public boolean retry(ITestResult result) {
+        Throwable failure = result.getThrowable();
+        int retries = RetryListener.getRetries(result);
+        
+        // Retrying against an environment that is down only burns the budget
+        if (!isTransient(failure) || retries >= ConfigManager.getRetryCount() || EnvironmentCircuitBreaker.isOpen()) {
+            return false;
+        }
+        if (!tryAcquireBudget()) {
+            System.err.println("Retry budget exhausted, not retrying " + result.getMethod().getMethodName());
+            return false;
+        }
+        
+        RetryListener.recordRetry(result, failure);
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("test", result.getMethod().getMethodName());
+        fields.put("class", result.getTestClass().getName());
+        fields.put("attempt", retries + 2);
+        fields.put("cause", failure.getClass().getName());
+        fields.put("budgetRemaining", ConfigManager.getRetryBudget() - budgetUsed.get());
+        fields.put("message", String.format("Retrying %s (attempt %d) after %s",
+            result.getMethod().getMethodName(), retries + 2, failure.getClass().getSimpleName()));
+        EventLog.publish("test_retry", fields);
+        return true;
+    }
+    
+    /**
+     * Check if a failure is worth retrying
+     * Walks the cause chain; assertion failures are never transient
+     * @param failure Test failure
+     * @return true if the failure is transient
+     */
+    public static boolean isTransient(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof AssertionError) {
+                return false;
+            }
+            if (cause instanceof TimeoutException
+                    || cause instanceof StaleElementReferenceException
+                    || cause instanceof NoSuchSessionException
+                    || cause instanceof SessionNotCreatedException
+                    || cause instanceof UnreachableBrowserException
+                    || cause instanceof SocketTimeoutException
+                    || cause instanceof java.util.concurrent.TimeoutException
+                    || ConfigManager.getRetryTransientExceptions().contains(cause.getClass().getName())) {
+                return true;
+            }
+            if (cause instanceof WebDriverException && cause.getMessage() != null) {
+                String message = cause.getMessage().toLowerCase();
+                for (String transientMessage : TRANSIENT_MESSAGES) {
+                    if (message.contains(transientMessage)) {
+                        return true;
+                    }
+                }
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Get number of retries spent this run
+     * @return Retries used from the global budget
+     */
+    public static int getBudgetUsed() {
+        return budgetUsed.get();
+    }
+    
+    private static boolean tryAcquireBudget() {
+        int limit = ConfigManager.getRetryBudget();
+        while (true) {
+            int used = budgetUsed.get();
+            if (used >= limit) {
+                return false;
+            }
+            if (budgetUsed.compareAndSet(used, used + 1)) {
+                return true;
+            }
+        }
+    }
+}
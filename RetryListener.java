@@ -0,0 +1,164 @@
+package com.automation.listeners;
+
+import com.automation.config.ConfigManager;
+import com.automation.utilities.DurationHistory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.IAnnotationTransformer;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Installs RetryAnalyzer on every test and records flakiness statistics
+ * A test that passes only after a retry counts as flaky. Per-test counters are merged
+ * into a cumulative file across runs so chronically flaky tests stand out.
+ */
+public class RetryListener implements IAnnotationTransformer, ITestListener, ISuiteListener {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<String, Map<String, Long>> runStats = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> pendingRetries = new ConcurrentHashMap<>();
+    
+    // IAnnotationTransformer declares raw Class and Constructor, so parameterized types would not override it
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        // An analyzer declared on the test itself wins; TestNG reports "none" as DisabledRetryAnalyzer
+        Class<?> declared = annotation.getRetryAnalyzerClass();
+        boolean undeclared = declared == null || "DisabledRetryAnalyzer".equals(declared.getSimpleName());
+        if (ConfigManager.isRetryFailedTestsEnabled() && undeclared) {
+            annotation.setRetryAnalyzer(RetryAnalyzer.class);
+        }
+    }
+    
+    /**
+     * Get how often an invocation has been retried so far
+     * The count is cleared once the invocation passes, fails or is skipped for good
+     * @param result Attempt of the invocation
+     * @return Retries so far
+     */
+    static int getRetries(ITestResult result) {
+        return pendingRetries.getOrDefault(invocationKey(result), 0);
+    }
+    
+    /**
+     * Record that an invocation is about to be retried
+     * @param result Failed attempt
+     * @param cause Failure that triggered the retry
+     */
+    static void recordRetry(ITestResult result, Throwable cause) {
+        pendingRetries.merge(invocationKey(result), 1, Integer::sum);
+        increment(methodKey(result), "retries");
+        increment(methodKey(result), "cause:" + cause.getClass().getSimpleName());
+    }
+    
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        Integer retries = pendingRetries.remove(invocationKey(result));
+        increment(methodKey(result), "runs");
+        increment(methodKey(result), retries != null ? "flakyPasses" : "passes");
+    }
+    
+    @Override
+    public void onTestFailure(ITestResult result) {
+        pendingRetries.remove(invocationKey(result));
+        increment(methodKey(result), "runs");
+        increment(methodKey(result), "failures");
+    }
+    
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        // A skipped attempt that is retried is still pending
+        if (!result.wasRetried()) {
+            pendingRetries.remove(invocationKey(result));
+        }
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        if (runStats.isEmpty()) {
+            return;
+        }
+        
+        long flaky = runStats.values().stream().mapToLong(stats -> stats.getOrDefault("flakyPasses", 0L)).sum();
+        System.out.println(String.format("Retries used: %d of %d, flaky passes: %d",
+            RetryAnalyzer.getBudgetUsed(), ConfigManager.getRetryBudget(), flaky));
+        saveFlakiness();
+    }
+    
+    /**
+     * Merge this run's counters into the cumulative flakiness file
+     * The file is shared by parallel forks, so it is updated under a file lock
+     */
+    @SuppressWarnings("try")
+    private static synchronized void saveFlakiness() {
+        Path statsFile = Paths.get(ConfigManager.getRetryFlakinessPath());
+        try {
+            if (statsFile.getParent() != null) {
+                Files.createDirectories(statsFile.getParent());
+            }
+            Path lockFile = statsFile.resolveSibling(statsFile.getFileName() + ".lock");
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+                Map<String, Map<String, Object>> document = new TreeMap<>();
+                if (Files.exists(statsFile)) {
+                    document.putAll(MAPPER.readValue(statsFile.toFile(),
+                        new TypeReference<Map<String, Map<String, Object>>>() { }));
+                }
+                
+                for (Map.Entry<String, Map<String, Long>> test : runStats.entrySet()) {
+                    Map<String, Object> stats = document.computeIfAbsent(test.getKey(), key -> new TreeMap<>());
+                    for (Map.Entry<String, Long> counter : test.getValue().entrySet()) {
+                        long previous = stats.get(counter.getKey()) instanceof Number
+                            ? ((Number) stats.get(counter.getKey())).longValue() : 0;
+                        stats.put(counter.getKey(), previous + counter.getValue());
+                    }
+                    long runs = ((Number) stats.getOrDefault("runs", 0L)).longValue();
+                    long flakyPasses = ((Number) stats.getOrDefault("flakyPasses", 0L)).longValue();
+                    stats.put("flakeRate", runs == 0 ? 0.0 : Math.round(flakyPasses * 1000.0 / runs) / 1000.0);
+                }
+                
+                Path temp = statsFile.resolveSibling(statsFile.getFileName() + ".tmp");
+                MAPPER.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), document);
+                Files.move(temp, statsFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            runStats.clear();
+        } catch (IOException e) {
+            System.err.println("Failed to save flakiness statistics: " + e.getMessage());
+        }
+    }
+    
+    private static void increment(String key, String counter) {
+        runStats.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).merge(counter, 1L, Long::sum);
+    }
+    
+    private static String methodKey(ITestResult result) {
+        return DurationHistory.key(result.getTestClass().getRealClass().getName(), result.getMethod().getMethodName());
+    }
+    
+    private static String invocationKey(ITestResult result) {
+        Map<String, Object> key = new LinkedHashMap<>();
+        key.put("method", methodKey(result));
+        key.put("instance", System.identityHashCode(result.getInstance()));
+        key.put("parameters", Arrays.deepHashCode(result.getParameters()));
+        return key.toString();
+    }
+}
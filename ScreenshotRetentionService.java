@@ -0,0 +1,358 @@
+package com.automation.utilities;
+
+import com.automation.config.ConfigManager;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Budgeted background retention for the screenshots directory
+ * Keeps an incremental oldest-first index of the tree (including per-suite subdirectories),
+ * fed by the screenshot writer. Each pass first re-reads only the directories whose
+ * modification time changed since the last pass, which picks up files written by other
+ * processes (e.g. forks of the local-shards profile) without walking every file again.
+ * It then evicts files past the maximum age, then oldest files until the total size fits
+ * the budget, deleting in parallel on a dedicated pool.
+ */
+public class ScreenshotRetentionService {
+    private static final long MB = 1024L * 1024L;
+    private static final Comparator<FileEntry> OLDEST_FIRST =
+        Comparator.comparingLong((FileEntry entry) -> entry.lastModified).thenComparing(entry -> entry.path);
+    private static volatile ScreenshotRetentionService instance;
+    
+    private final Path rootDir;
+    private final NavigableSet<FileEntry> filesByAge = new ConcurrentSkipListSet<>(OLDEST_FIRST);
+    private final Map<Path, FileEntry> filesByPath = new ConcurrentHashMap<>();
+    private final AtomicLong totalSizeBytes = new AtomicLong();
+    private final AtomicLong deletedCount = new AtomicLong();
+    private final ScheduledExecutorService scheduler;
+    private final Map<Path, ScannedDirectory> directories = new ConcurrentHashMap<>();
+    
+    private ScreenshotRetentionService(Path rootDir) {
+        this.rootDir = rootDir;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "screenshot-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Start background retention for the configured screenshots directory
+     * Returns immediately; the first pass runs on the retention thread
+     * @return Running retention service
+     */
+    public static synchronized ScreenshotRetentionService start() {
+        if (instance == null) {
+            instance = new ScreenshotRetentionService(Paths.get(ConfigManager.getScreenshotsPath()).toAbsolutePath().normalize());
+            long maxAgeMillis = TimeUnit.DAYS.toMillis(ConfigManager.getScreenshotRetentionMaxAgeDays());
+            long maxSizeBytes = ConfigManager.getScreenshotRetentionMaxSizeMb() * MB;
+            int interval = ConfigManager.getScreenshotRetentionIntervalMinutes();
+            
+            if (interval > 0) {
+                instance.scheduler.scheduleWithFixedDelay(() -> instance.enforce(maxAgeMillis, maxSizeBytes),
+                    0, interval, TimeUnit.MINUTES);
+            } else {
+                instance.scheduler.execute(() -> instance.enforce(maxAgeMillis, maxSizeBytes));
+            }
+        }
+        return instance;
+    }
+    
+    /**
+     * Run a single background pass with the given age limit and the configured size budget
+     * Uses the running service if there is one, otherwise a short-lived one
+     * @param maxAgeDays Maximum file age in days
+     */
+    public static synchronized void runOnce(int maxAgeDays) {
+        ScreenshotRetentionService service = instance;
+        if (service == null) {
+            service = new ScreenshotRetentionService(Paths.get(ConfigManager.getScreenshotsPath()).toAbsolutePath().normalize());
+            service.enforceAsync(maxAgeDays);
+            // Lets the queued pass finish, then releases the thread
+            service.scheduler.shutdown();
+            return;
+        }
+        service.enforceAsync(maxAgeDays);
+    }
+    
+    /**
+     * Stop the background retention thread
+     */
+    public static synchronized void stop() {
+        if (instance != null) {
+            instance.scheduler.shutdownNow();
+            instance = null;
+        }
+    }
+    
+    /**
+     * Get the running retention service
+     * @return Retention service, or null if not started
+     */
+    public static ScreenshotRetentionService getInstance() {
+        return instance;
+    }
+    
+    /**
+     * Record a newly written screenshot file if retention is running
+     * @param file Written file
+     * @param sizeBytes File size in bytes
+     */
+    public static void trackIfRunning(Path file, long sizeBytes) {
+        ScreenshotRetentionService service = instance;
+        Path normalized = file.toAbsolutePath().normalize();
+        if (service != null && normalized.startsWith(service.rootDir)) {
+            service.track(normalized, sizeBytes, System.currentTimeMillis());
+        }
+    }
+    
+    /**
+     * Queue a one-off pass with the given age limit and the configured size budget
+     * @param maxAgeDays Maximum file age in days
+     */
+    public void enforceAsync(int maxAgeDays) {
+        long maxSizeBytes = ConfigManager.getScreenshotRetentionMaxSizeMb() * MB;
+        scheduler.execute(() -> enforce(TimeUnit.DAYS.toMillis(maxAgeDays), maxSizeBytes));
+    }
+    
+    /**
+     * Get total size of tracked screenshot files
+     * @return Total size in bytes
+     */
+    public long getTotalSizeBytes() {
+        return totalSizeBytes.get();
+    }
+    
+    /**
+     * Get number of tracked screenshot files
+     * @return File count
+     */
+    public int getFileCount() {
+        return filesByPath.size();
+    }
+    
+    /**
+     * Get number of files deleted since the service started
+     * @return Deleted file count
+     */
+    public long getDeletedCount() {
+        return deletedCount.get();
+    }
+    
+    /**
+     * Run one retention pass: age limit first, then oldest-first until under budget
+     * @param maxAgeMillis Maximum file age in milliseconds
+     * @param maxSizeBytes Maximum total size in bytes
+     */
+    private void enforce(long maxAgeMillis, long maxSizeBytes) {
+        try {
+            rescan();
+            
+            long cutoff = System.currentTimeMillis() - maxAgeMillis;
+            long remaining = totalSizeBytes.get();
+            List<FileEntry> victims = new ArrayList<>();
+            
+            for (FileEntry entry : filesByAge) {
+                if (entry.lastModified >= cutoff && remaining <= maxSizeBytes) {
+                    break;
+                }
+                victims.add(entry);
+                remaining -= entry.size;
+            }
+            
+            if (!victims.isEmpty()) {
+                deleteAll(victims);
+                // Entries of deleted blobs would otherwise stay in the index for good
+                if (ConfigManager.isScreenshotDedupEnabled()) {
+                    ScreenshotStore.getInstance(rootDir.toString()).compact();
+                }
+                System.out.println("Screenshot retention deleted " + victims.size() + " file(s), "
+                    + (totalSizeBytes.get() / MB) + " MB retained");
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to enforce screenshot retention: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Bring the index up to date with the tree
+     * The first pass reads every directory; later passes only re-read directories whose
+     * modification time changed, and descend into unchanged ones through their known subdirectories.
+     * Files removed outside the service are forgotten, so their size no longer counts against the budget.
+     */
+    private void rescan() {
+        Set<Path> seen = new HashSet<>();
+        Set<Path> relisted = new HashSet<>();
+        Set<Path> listedFiles = new HashSet<>();
+        if (Files.isDirectory(rootDir)) {
+            scanDirectory(rootDir, seen, relisted, listedFiles);
+        }
+        directories.keySet().retainAll(seen);
+        
+        // Missing from a re-read directory, or under a directory that is gone; the existence check
+        // keeps files the writer tracked after their directory was listed
+        for (FileEntry entry : filesByPath.values()) {
+            Path parent = entry.path.getParent();
+            boolean unlisted = relisted.contains(parent) ? !listedFiles.contains(entry.path) : !seen.contains(parent);
+            if (unlisted && Files.notExists(entry.path)) {
+                forget(entry);
+            }
+        }
+    }
+    
+    private void scanDirectory(Path dir, Set<Path> seen, Set<Path> relisted, Set<Path> listedFiles) {
+        seen.add(dir);
+        long modified;
+        try {
+            modified = Files.getLastModifiedTime(dir).toMillis();
+        } catch (IOException e) {
+            return;
+        }
+        
+        ScannedDirectory known = directories.get(dir);
+        if (known == null || known.lastModified != modified) {
+            List<Path> subdirectories = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                for (Path entry : entries) {
+                    readEntry(entry.toAbsolutePath().normalize(), subdirectories, listedFiles);
+                }
+            } catch (IOException | DirectoryIteratorException e) {
+                System.err.println("Failed to scan screenshot directory " + dir + ": " + e.getMessage());
+                return;
+            }
+            known = new ScannedDirectory(modified, subdirectories);
+            directories.put(dir, known);
+            relisted.add(dir);
+        }
+        for (Path subdirectory : known.subdirectories) {
+            scanDirectory(subdirectory, seen, relisted, listedFiles);
+        }
+    }
+    
+    private void readEntry(Path entry, List<Path> subdirectories, Set<Path> listedFiles) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+            if (attributes.isDirectory()) {
+                subdirectories.add(entry);
+                return;
+            }
+            // The store's index is bookkeeping, not a screenshot
+            if (!attributes.isRegularFile() || ScreenshotStore.isIndexFile(entry)) {
+                return;
+            }
+            listedFiles.add(entry);
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            FileEntry tracked = filesByPath.get(entry);
+            if (tracked == null || tracked.lastModified < lastModified) {
+                track(entry, attributes.size(), lastModified);
+            }
+        } catch (IOException e) {
+            // Deleted while scanning
+        }
+    }
+    
+    private void track(Path file, long sizeBytes, long lastModified) {
+        FileEntry entry = new FileEntry(file, sizeBytes, lastModified);
+        FileEntry previous = filesByPath.put(file, entry);
+        if (previous != null) {
+            filesByAge.remove(previous);
+            totalSizeBytes.addAndGet(-previous.size);
+        }
+        filesByAge.add(entry);
+        totalSizeBytes.addAndGet(sizeBytes);
+    }
+    
+    /**
+     * Delete files in parallel and drop them from the index
+     * @param victims Files to delete
+     */
+    private void deleteAll(List<FileEntry> victims) throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, ConfigManager.getScreenshotRetentionThreads()));
+        try {
+            pool.submit(() -> victims.parallelStream().forEach(this::delete)).get();
+        } catch (ExecutionException e) {
+            System.err.println("Screenshot retention delete failed: " + e.getCause().getMessage());
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    private void delete(FileEntry entry) {
+        try {
+            // Reused or rewritten since it was indexed: keep it and index its new age instead
+            BasicFileAttributes attributes = Files.readAttributes(entry.path, BasicFileAttributes.class);
+            if (attributes.lastModifiedTime().toMillis() > entry.lastModified) {
+                track(entry.path, attributes.size(), attributes.lastModifiedTime().toMillis());
+                return;
+            }
+            Files.delete(entry.path);
+            deletedCount.incrementAndGet();
+            if (ConfigManager.isScreenshotDedupEnabled()) {
+                ScreenshotStore.getInstance(rootDir.toString()).onBlobDeleted(entry.path);
+            }
+        } catch (NoSuchFileException e) {
+            // Already gone, just forget it
+        } catch (IOException e) {
+            System.err.println("Failed to delete screenshot " + entry.path + ": " + e.getMessage());
+            return;
+        }
+        forget(entry);
+    }
+    
+    private void forget(FileEntry entry) {
+        if (filesByPath.remove(entry.path, entry)) {
+            filesByAge.remove(entry);
+            totalSizeBytes.addAndGet(-entry.size);
+        }
+    }
+    
+    /**
+     * Directory as seen by the last scan
+     */
+    private static class ScannedDirectory {
+        private final long lastModified;
+        private final List<Path> subdirectories;
+        
+        ScannedDirectory(long lastModified, List<Path> subdirectories) {
+            this.lastModified = lastModified;
+            this.subdirectories = subdirectories;
+        }
+    }
+    
+    /**
+     * Indexed screenshot file
+     */
+    private static class FileEntry {
+        private final Path path;
+        private final long size;
+        private final long lastModified;
+        
+        FileEntry(Path path, long size, long lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+}
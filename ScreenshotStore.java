@@ -0,0 +1,412 @@
+package com.automation.utilities;
+
+import com.automation.config.ConfigManager;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed screenshot store
+ * Screenshots are stored once per distinct content under blobs/ab/abcdef....png,
+ * and an append-only index.jsonl maps test names and timestamps to blobs.
+ * Total size is tracked incrementally, so size queries never walk the directory.
+ * The index is compacted at startup and after retention deletes blobs, dropping entries
+ * whose blob is gone; appends and compaction hold a file lock, since forks share the index.
+ */
+public class ScreenshotStore {
+    private static final String BLOBS_DIR = "blobs";
+    private static final String INDEX_FILE = "index.jsonl";
+    private static final String INDEX_LOCK_FILE = INDEX_FILE + ".lock";
+    private static final String INDEX_TEMP_FILE = INDEX_FILE + ".tmp";
+    private static final String SCREENSHOT_FORMAT = "png";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<String, ScreenshotStore> stores = new ConcurrentHashMap<>();
+    
+    private final Path rootDir;
+    private final Path indexFile;
+    private final Map<String, Long> blobSizes = new ConcurrentHashMap<>();
+    private final Map<String, List<Entry>> entriesByTest = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<String>> pendingBlobs = new ConcurrentHashMap<>();
+    private final AtomicLong totalSizeBytes = new AtomicLong();
+    private final AtomicLong logicalSizeBytes = new AtomicLong();
+    private final Object indexLock = new Object();
+    
+    /**
+     * Get the store for the configured screenshots directory
+     * @return Screenshot store
+     */
+    public static ScreenshotStore getInstance() {
+        return getInstance(ConfigManager.getScreenshotsPath());
+    }
+    
+    /**
+     * Get the store rooted at the given directory, loading its index on first use
+     * @param screenshotsPath Screenshots directory
+     * @return Screenshot store
+     */
+    public static ScreenshotStore getInstance(String screenshotsPath) {
+        return stores.computeIfAbsent(Paths.get(screenshotsPath).toAbsolutePath().normalize().toString(),
+            path -> new ScreenshotStore(Paths.get(path)));
+    }
+    
+    private ScreenshotStore(Path rootDir) {
+        this.rootDir = rootDir;
+        this.indexFile = rootDir.resolve(INDEX_FILE);
+        if (Files.exists(indexFile)) {
+            compact();
+        }
+    }
+    
+    /**
+     * Check if a file in the screenshots tree is the store's bookkeeping rather than a screenshot
+     * @param file File in the screenshots directory
+     * @return true for the index and its lock and temporary files
+     */
+    public static boolean isIndexFile(Path file) {
+        return file.getFileName().toString().startsWith(INDEX_FILE);
+    }
+    
+    /**
+     * Store screenshot bytes for a test
+     * Identical content is written once; the write happens on the background writer
+     * @param imageBytes Encoded screenshot bytes
+     * @param testName Test name
+     * @return Blob file path, or null if the capture was dropped
+     */
+    public String store(byte[] imageBytes, String testName) {
+        String hash = sha256(imageBytes);
+        CompletableFuture<String> written = enqueue(hash, imageBytes, testName);
+        
+        // Dropped or failed captures resolve immediately to null
+        return written.isDone() ? written.getNow(null) : getBlobPath(hash).toString();
+    }
+    
+    /**
+     * Store screenshot bytes for a test
+     * @param imageBytes Encoded screenshot bytes
+     * @param testName Test name
+     * @return Future completing with the blob file path once stored, or null on failure
+     */
+    public CompletableFuture<String> storeAsync(byte[] imageBytes, String testName) {
+        return enqueue(sha256(imageBytes), imageBytes, testName);
+    }
+    
+    /**
+     * Get index entries recorded for a test
+     * @param testName Test name
+     * @return Entries in capture order
+     */
+    public List<Entry> getEntries(String testName) {
+        List<Entry> entries = entriesByTest.get(testName);
+        return entries == null ? Collections.emptyList() : new ArrayList<>(entries);
+    }
+    
+    /**
+     * Get bytes on disk used by stored blobs
+     * @return Total blob size in bytes
+     */
+    public long getTotalSizeBytes() {
+        return totalSizeBytes.get();
+    }
+    
+    /**
+     * Get bytes that would be on disk without deduplication
+     * @return Sum of every capture's size in bytes
+     */
+    public long getLogicalSizeBytes() {
+        return logicalSizeBytes.get();
+    }
+    
+    /**
+     * Get number of distinct stored screenshots
+     * @return Blob count
+     */
+    public int getBlobCount() {
+        return blobSizes.size();
+    }
+    
+    /**
+     * Get the store's root directory
+     * @return Root directory
+     */
+    public Path getRootDir() {
+        return rootDir;
+    }
+    
+    /**
+     * Get the file path for a content hash
+     * @param hash SHA-256 hex digest
+     * @return Blob file path
+     */
+    public Path getBlobPath(String hash) {
+        return rootDir.resolve(BLOBS_DIR).resolve(hash.substring(0, 2)).resolve(hash + "." + SCREENSHOT_FORMAT);
+    }
+    
+    /**
+     * Record that a blob file was removed from disk
+     * @param blobFile Deleted blob file
+     * @return true if the file was a blob known to this store
+     */
+    public boolean onBlobDeleted(Path blobFile) {
+        String fileName = blobFile.getFileName().toString();
+        if (!fileName.endsWith("." + SCREENSHOT_FORMAT)) {
+            return false;
+        }
+        
+        String hash = fileName.substring(0, fileName.length() - SCREENSHOT_FORMAT.length() - 1);
+        Long size = blobSizes.remove(hash);
+        if (size == null) {
+            return false;
+        }
+        
+        totalSizeBytes.addAndGet(-size);
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("deleted", hash);
+        appendIndexLine(line);
+        return true;
+    }
+    
+    /**
+     * Rewrite the index without deletion markers and entries whose blob is gone
+     * Also drops those entries from memory; the file is only rewritten when there is something to drop
+     */
+    @SuppressWarnings("try")
+    public void compact() {
+        synchronized (indexLock) {
+            try (FileChannel lockChannel = openLock(); FileLock lock = lockChannel.lock()) {
+                // Replay what is on disk, which includes lines appended by other processes
+                Map<String, Long> sizes = new LinkedHashMap<>();
+                List<Entry> entries = new ArrayList<>();
+                int lines = replay(sizes, entries);
+                List<Entry> live = new ArrayList<>();
+                for (Entry entry : entries) {
+                    if (sizes.containsKey(entry.getHash())) {
+                        live.add(entry);
+                    }
+                }
+                
+                if (live.size() < lines) {
+                    Path tempFile = rootDir.resolve(INDEX_TEMP_FILE);
+                    try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                        for (Entry entry : live) {
+                            writer.write(MAPPER.writeValueAsString(entry.toMap()));
+                            writer.newLine();
+                        }
+                    }
+                    Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                
+                Map<String, List<Entry>> byTest = new LinkedHashMap<>();
+                long logicalSize = 0;
+                for (Entry entry : live) {
+                    byTest.computeIfAbsent(entry.getTestName(), name -> new CopyOnWriteArrayList<>()).add(entry);
+                    logicalSize += entry.getSize();
+                }
+                entriesByTest.keySet().retainAll(byTest.keySet());
+                entriesByTest.putAll(byTest);
+                logicalSizeBytes.set(logicalSize);
+                
+                // Blobs still being written are not indexed yet, keep their sizes
+                blobSizes.keySet().removeIf(hash -> !sizes.containsKey(hash) && !pendingBlobs.containsKey(hash));
+                sizes.forEach(blobSizes::putIfAbsent);
+                totalSizeBytes.set(blobSizes.values().stream().mapToLong(Long::longValue).sum());
+            } catch (IOException e) {
+                System.err.println("Failed to compact screenshot index: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Register a capture and queue its blob (if new) and index line for writing
+     * A duplicate of a blob that is still being written waits for that write, and a duplicate
+     * whose blob has disappeared from disk writes it again
+     */
+    private CompletableFuture<String> enqueue(String hash, byte[] imageBytes, String testName) {
+        Entry entry = new Entry(testName, LocalDateTime.now().toString(), hash, imageBytes.length);
+        boolean newBlob = blobSizes.putIfAbsent(hash, (long) imageBytes.length) == null;
+        if (newBlob) {
+            totalSizeBytes.addAndGet(imageBytes.length);
+        }
+        logicalSizeBytes.addAndGet(imageBytes.length);
+        
+        String blobPath = getBlobPath(hash).toString();
+        Runnable record = () -> {
+            // A rewritten blob may have been counted out by retention meanwhile
+            if (blobSizes.putIfAbsent(hash, (long) imageBytes.length) == null) {
+                totalSizeBytes.addAndGet(imageBytes.length);
+            }
+            appendEntry(entry);
+        };
+        CompletableFuture<String> written;
+        if (newBlob) {
+            written = ScreenshotWriter.submit(imageBytes, blobPath, record);
+            pendingBlobs.put(hash, written);
+            written.whenComplete((path, error) -> pendingBlobs.remove(hash, written));
+        } else {
+            CompletableFuture<String> original = pendingBlobs.get(hash);
+            written = original == null
+                ? ScreenshotWriter.submitReusable(imageBytes, blobPath, record)
+                : original.thenCompose(path -> ScreenshotWriter.submitReusable(imageBytes, blobPath, record));
+        }
+        
+        return written.thenApply(path -> {
+            if (path == null) {
+                logicalSizeBytes.addAndGet(-imageBytes.length);
+                if (newBlob && blobSizes.remove(hash, (long) imageBytes.length)) {
+                    totalSizeBytes.addAndGet(-imageBytes.length);
+                }
+            }
+            return path;
+        });
+    }
+    
+    /**
+     * Read the index file
+     * A deletion marker removes its blob; entries of a blob that was deleted and not written again stay
+     * in the entry list, and the caller drops them by checking the blob sizes
+     * @param sizes Receives the size of every blob still on disk
+     * @param entries Receives every capture entry in file order
+     * @return Number of lines read
+     */
+    private int replay(Map<String, Long> sizes, List<Entry> entries) throws IOException {
+        if (!Files.exists(indexFile)) {
+            return 0;
+        }
+        int lines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                lines++;
+                JsonNode node;
+                try {
+                    node = MAPPER.readTree(line);
+                } catch (IOException e) {
+                    // Torn line from a crashed writer
+                    continue;
+                }
+                if (node.has("deleted")) {
+                    sizes.remove(node.get("deleted").asText());
+                    continue;
+                }
+                Entry entry = new Entry(node.path("test").asText(), node.path("timestamp").asText(),
+                    node.path("hash").asText(), node.path("size").asLong());
+                sizes.put(entry.getHash(), entry.getSize());
+                entries.add(entry);
+            }
+        }
+        return lines;
+    }
+    
+    private void appendEntry(Entry entry) {
+        synchronized (indexLock) {
+            appendIndexLine(entry.toMap());
+            entriesByTest.computeIfAbsent(entry.getTestName(), name -> new CopyOnWriteArrayList<>()).add(entry);
+        }
+    }
+    
+    @SuppressWarnings("try")
+    private void appendIndexLine(Map<String, Object> line) {
+        synchronized (indexLock) {
+            try (FileChannel lockChannel = openLock(); FileLock lock = lockChannel.lock()) {
+                try (BufferedWriter writer = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    writer.write(MAPPER.writeValueAsString(line));
+                    writer.newLine();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to update screenshot index", e);
+            }
+        }
+    }
+    
+    /**
+     * Open the lock file guarding the index against other processes
+     * @return Channel to lock
+     */
+    private FileChannel openLock() throws IOException {
+        Files.createDirectories(rootDir);
+        return FileChannel.open(rootDir.resolve(INDEX_LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+    
+    private static String sha256(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    /**
+     * Index entry mapping one capture to its blob
+     */
+    public static class Entry {
+        private final String testName;
+        private final String timestamp;
+        private final String hash;
+        private final long size;
+        
+        Entry(String testName, String timestamp, String hash, long size) {
+            this.testName = testName;
+            this.timestamp = timestamp;
+            this.hash = hash;
+            this.size = size;
+        }
+        
+        public String getTestName() {
+            return testName;
+        }
+        
+        public String getTimestamp() {
+            return timestamp;
+        }
+        
+        public String getHash() {
+            return hash;
+        }
+        
+        public long getSize() {
+            return size;
+        }
+        
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("test", testName);
+            map.put("timestamp", timestamp);
+            map.put("hash", hash);
+            map.put("size", size);
+            return map;
+        }
+    }
+}
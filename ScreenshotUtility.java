@@ -5,11 +5,12 @@ import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 
 import java.io.File;
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Screenshot Utility for capturing and managing screenshots
@@ -21,6 +22,8 @@ public class ScreenshotUtility {
     
     /**
      * Capture screenshot and save to file
+     * The file is written by the background screenshot writer, so the returned
+     * path may not exist on disk until the write completes
      * @param driver WebDriver instance
      * @param testName Test name for file naming
      * @return Screenshot file path
@@ -30,36 +33,82 @@ public class ScreenshotUtility {
             return null;
         }
         
+        byte[] imageBytes = grabScreenshotBytes(driver);
+        if (imageBytes == null) {
+            return null;
+        }
+        
+        // Identical captures share one file in the content-addressed store
+        if (ConfigManager.isScreenshotDedupEnabled()) {
+            return ScreenshotStore.getInstance().store(imageBytes, testName);
+        }
+        
+        String filePath = buildScreenshotPath(testName);
+        CompletableFuture<String> written = ScreenshotWriter.submit(imageBytes, filePath);
+        
+        // Dropped or failed captures resolve immediately to null
+        return written.isDone() ? written.getNow(null) : filePath;
+    }
+    
+    /**
+     * Capture screenshot and save to file in the background
+     * @param driver WebDriver instance
+     * @param testName Test name for file naming
+     * @return Future completing with the screenshot file path once written, or null on failure
+     */
+    public static CompletableFuture<String> captureScreenshotAsync(WebDriver driver, String testName) {
+        if (!ConfigManager.isScreenshotsEnabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        byte[] imageBytes = grabScreenshotBytes(driver);
+        if (imageBytes == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        if (ConfigManager.isScreenshotDedupEnabled()) {
+            return ScreenshotStore.getInstance().storeAsync(imageBytes, testName);
+        }
+        
+        return ScreenshotWriter.submit(imageBytes, buildScreenshotPath(testName));
+    }
+    
+    /**
+     * Grab screenshot bytes from the driver on the calling thread
+     * @param driver WebDriver instance
+     * @return PNG bytes, or null if the driver could not take a screenshot
+     */
+    private static byte[] grabScreenshotBytes(WebDriver driver) {
         try {
-            // Create screenshots directory if it doesn't exist
-            String screenshotsPath = ConfigManager.getScreenshotsPath();
-            File screenshotsDir = new File(screenshotsPath);
-            if (!screenshotsDir.exists()) {
-                screenshotsDir.mkdirs();
-            }
-            
-            // Generate unique filename
-            String timestamp = LocalDateTime.now().format(DATE_FORMAT);
-            String fileName = String.format("%s_%s.%s", testName, timestamp, SCREENSHOT_FORMAT);
-            String filePath = screenshotsPath + File.separator + fileName;
-            
-            // Capture screenshot
             TakesScreenshot takesScreenshot = (TakesScreenshot) driver;
-            File sourceFile = takesScreenshot.getScreenshotAs(OutputType.FILE);
-            File destFile = new File(filePath);
-            
-            // Copy screenshot to destination
-            FileUtils.copyFile(sourceFile, destFile);
+            return takesScreenshot.getScreenshotAs(OutputType.BYTES);
             
-            System.out.println("Screenshot captured: " + filePath);
-            return filePath;
-            
-        } catch (IOException e) {
+        } catch (WebDriverException | ClassCastException e) {
             System.err.println("Failed to capture screenshot: " + e.getMessage());
             return null;
         }
     }
     
+    /**
+     * Build the destination path for a new screenshot
+     * Creates the screenshots directory if it doesn't exist
+     * @param testName Test name for file naming
+     * @return Screenshot file path
+     */
+    public static String buildScreenshotPath(String testName) {
+        // Create screenshots directory if it doesn't exist
+        String screenshotsPath = ConfigManager.getScreenshotsPath();
+        File screenshotsDir = new File(screenshotsPath);
+        if (!screenshotsDir.exists()) {
+            screenshotsDir.mkdirs();
+        }
+        
+        // Generate unique filename
+        String timestamp = LocalDateTime.now().format(DATE_FORMAT);
+        String fileName = String.format("%s_%s.%s", testName, timestamp, SCREENSHOT_FORMAT);
+        return screenshotsPath + File.separator + fileName;
+    }
+    
     /**
      * Capture screenshot with default naming
      * @param driver WebDriver instance
@@ -81,32 +130,13 @@ public class ScreenshotUtility {
     
     /**
      * Clean up old screenshots (older than specified days)
+     * Runs in the background on the retention service, covering suite subdirectories
+     * and the configured size budget as well
      * @param daysToKeep Number of days to keep screenshots
      */
     public static void cleanupOldScreenshots(int daysToKeep) {
         try {
-            String screenshotsPath = ConfigManager.getScreenshotsPath();
-            File screenshotsDir = new File(screenshotsPath);
-            
-            if (!screenshotsDir.exists()) {
-                return;
-            }
-            
-            File[] files = screenshotsDir.listFiles();
-            if (files == null) {
-                return;
-            }
-            
-            long cutoffTime = System.currentTimeMillis() - (daysToKeep * 24 * 60 * 60 * 1000L);
-            
-            for (File file : files) {
-                if (file.isFile() && file.lastModified() < cutoffTime) {
-                    if (file.delete()) {
-                        System.out.println("Deleted old screenshot: " + file.getName());
-                    }
-                }
-            }
-            
+            ScreenshotRetentionService.runOnce(daysToKeep);
         } catch (Exception e) {
             System.err.println("Failed to cleanup old screenshots: " + e.getMessage());
         }
@@ -114,9 +144,15 @@ public class ScreenshotUtility {
     
     /**
      * Get screenshots directory size in MB
+     * With deduplication enabled this is the size of the content-addressed store
      * @return Directory size in MB
      */
     public static double getScreenshotsDirSize() {
+        // The store tracks its size incrementally, no directory walk needed
+        if (ConfigManager.isScreenshotDedupEnabled()) {
+            return ScreenshotStore.getInstance().getTotalSizeBytes() / (1024.0 * 1024.0);
+        }
+        
         try {
             String screenshotsPath = ConfigManager.getScreenshotsPath();
             File screenshotsDir = new File(screenshotsPath);
@@ -0,0 +1,249 @@
+package com.automation.utilities;
+
+import com.automation.config.ConfigManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded background writer for screenshot files
+ * Keeps disk I/O off the test thread, applies back-pressure or drops captures
+ * when the queue is full, and drains pending writes at suite end
+ */
+public class ScreenshotWriter {
+    private static final AtomicLong droppedCount = new AtomicLong();
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+    private static ThreadPoolExecutor executor;
+    private static boolean shutdownHookRegistered;
+    
+    /**
+     * Queue screenshot bytes to be written to the given path
+     * @param imageBytes Encoded screenshot bytes
+     * @param filePath Destination file path
+     * @return Future completing with the file path, or null if the capture was dropped or failed
+     */
+    public static CompletableFuture<String> submit(byte[] imageBytes, String filePath) {
+        return submit(imageBytes, filePath, null);
+    }
+    
+    /**
+     * Queue screenshot bytes to be written, with a follow-up step run on the writer thread
+     * @param imageBytes Encoded screenshot bytes
+     * @param filePath Destination file path
+     * @param afterWrite Step to run once the file is written (may be null)
+     * @return Future completing with the file path, or null if the capture was dropped or failed
+     */
+    public static CompletableFuture<String> submit(byte[] imageBytes, String filePath, Runnable afterWrite) {
+        return submit(new WriteTask(imageBytes, filePath, afterWrite, false));
+    }
+    
+    /**
+     * Queue content that may already be on disk under the given path
+     * An existing file is reused (its modification time refreshed), a missing one is written
+     * @param imageBytes Encoded screenshot bytes
+     * @param filePath Content-addressed file path
+     * @param afterWrite Step to run once the file is in place (may be null)
+     * @return Future completing with the file path, or null if the capture was dropped or failed
+     */
+    public static CompletableFuture<String> submitReusable(byte[] imageBytes, String filePath, Runnable afterWrite) {
+        return submit(new WriteTask(imageBytes, filePath, afterWrite, true));
+    }
+    
+    private static CompletableFuture<String> submit(WriteTask task) {
+        getExecutor().execute(task);
+        return task.future;
+    }
+    
+    /**
+     * Wait for all queued screenshots to be written, then stop the writer threads
+     * A later submit starts a fresh writer
+     * @param timeoutSeconds Maximum time to wait
+     * @return true if every pending screenshot was written in time
+     */
+    public static boolean drain(long timeoutSeconds) {
+        ThreadPoolExecutor current;
+        synchronized (ScreenshotWriter.class) {
+            current = executor;
+            executor = null;
+        }
+        if (current == null) {
+            return true;
+        }
+        
+        current.shutdown();
+        try {
+            if (current.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        System.err.println("Screenshot writer did not drain in time, " + current.getQueue().size() + " screenshot(s) pending");
+        return false;
+    }
+    
+    /**
+     * Drain using the configured timeout
+     * @return true if every pending screenshot was written in time
+     */
+    public static boolean drain() {
+        return drain(ConfigManager.getScreenshotWriterDrainTimeout());
+    }
+    
+    /**
+     * Get number of screenshots waiting to be written
+     * @return Pending screenshot count
+     */
+    public static int getPendingCount() {
+        ThreadPoolExecutor current = executor;
+        return current == null ? 0 : current.getQueue().size() + current.getActiveCount();
+    }
+    
+    /**
+     * Get number of screenshots dropped because the queue was full
+     * @return Dropped screenshot count
+     */
+    public static long getDroppedCount() {
+        return droppedCount.get();
+    }
+    
+    /**
+     * Get the writer executor, creating it on first use
+     * @return Writer executor
+     */
+    private static synchronized ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            int threads = Math.max(1, ConfigManager.getScreenshotWriterThreads());
+            BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(Math.max(1, ConfigManager.getScreenshotWriterQueueSize()));
+            executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue, runnable -> {
+                Thread thread = new Thread(runnable, "screenshot-writer-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, getOverflowHandler(ConfigManager.getScreenshotWriterOverflowPolicy()));
+            
+            if (!shutdownHookRegistered) {
+                Runtime.getRuntime().addShutdownHook(new Thread(ScreenshotWriter::drain, "screenshot-writer-drain"));
+                shutdownHookRegistered = true;
+            }
+        }
+        return executor;
+    }
+    
+    /**
+     * Convert overflow policy name to rejection handler
+     * @param policy Policy name (block, drop-newest, drop-oldest, caller-runs)
+     * @return Rejected execution handler
+     */
+    private static RejectedExecutionHandler getOverflowHandler(String policy) {
+        switch (policy.toLowerCase()) {
+            case "block":
+                return (runnable, pool) -> {
+                    if (pool.isShutdown()) {
+                        drop(runnable);
+                        return;
+                    }
+                    try {
+                        pool.getQueue().put(runnable);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        drop(runnable);
+                    }
+                };
+            case "drop-newest":
+                return (runnable, pool) -> drop(runnable);
+            case "drop-oldest":
+                return (runnable, pool) -> {
+                    Runnable oldest = pool.getQueue().poll();
+                    if (oldest != null) {
+                        drop(oldest);
+                    }
+                    if (pool.isShutdown() || !pool.getQueue().offer(runnable)) {
+                        drop(runnable);
+                    }
+                };
+            case "caller-runs":
+                return (runnable, pool) -> runnable.run();
+            default:
+                throw new IllegalArgumentException("Screenshot writer overflow policy not supported: " + policy);
+        }
+    }
+    
+    /**
+     * Discard a queued write and resolve its future to null
+     * @param runnable Rejected write task
+     */
+    private static void drop(Runnable runnable) {
+        droppedCount.incrementAndGet();
+        if (runnable instanceof WriteTask) {
+            WriteTask task = (WriteTask) runnable;
+            System.err.println("Screenshot dropped, writer queue full: " + task.filePath);
+            task.future.complete(null);
+        }
+    }
+    
+    /**
+     * Single screenshot write with its completion future
+     */
+    private static class WriteTask implements Runnable {
+        private final byte[] imageBytes;
+        private final String filePath;
+        private final Runnable afterWrite;
+        private final boolean reuseExisting;
+        private final CompletableFuture<String> future = new CompletableFuture<>();
+        
+        WriteTask(byte[] imageBytes, String filePath, Runnable afterWrite, boolean reuseExisting) {
+            this.imageBytes = imageBytes;
+            this.filePath = filePath;
+            this.afterWrite = afterWrite;
+            this.reuseExisting = reuseExisting;
+        }
+        
+        @Override
+        public void run() {
+            try {
+                Path destination = Paths.get(filePath);
+                if (!reuseExisting || !reuse(destination)) {
+                    if (destination.getParent() != null) {
+                        Files.createDirectories(destination.getParent());
+                    }
+                    Files.write(destination, imageBytes);
+                }
+                ScreenshotRetentionService.trackIfRunning(destination, imageBytes.length);
+                if (afterWrite != null) {
+                    afterWrite.run();
+                }
+                future.complete(filePath);
+            } catch (IOException | RuntimeException e) {
+                // Any failure, including one from afterWrite, must still complete the future its caller may wait on
+                System.err.println("Failed to write screenshot: " + e);
+                future.complete(null);
+            }
+        }
+        
+        /**
+         * Refresh an existing file so age-based retention counts from its latest capture
+         * @return false if the file is gone (e.g. removed by retention) and has to be written again
+         */
+        private static boolean reuse(Path destination) throws IOException {
+            try {
+                Files.setLastModifiedTime(destination, FileTime.fromMillis(System.currentTimeMillis()));
+                return true;
+            } catch (NoSuchFileException e) {
+                return false;
+            }
+        }
+    }
+}
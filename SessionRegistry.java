@@ -0,0 +1,315 @@
+package com.automation.drivers;
+
+import com.automation.config.ConfigManager;
+import com.automation.utilities.EventLog;
+import com.automation.utilities.ResourceMonitor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks every open driver session so that none outlives its test
+ * DriverManager registers each session with the thread that owns it and the local driver
+ * server and browser processes behind it. Every session.reaper.interval.seconds a reaper closes
+ * sessions whose owning thread has died or that have not been used for session.idle.timeout.minutes,
+ * and a shutdown hook closes whatever is still open when the JVM exits. Processes are killed
+ * directly, so a hung or crashed driver cannot block the cleanup. Reaped sessions and failed
+ * quits are counted as leaks and reported at suite end.
+ */
+public class SessionRegistry {
+    private static final long KILL_GRACE_MILLIS = 5000;
+    private static final Map<Long, Session> sessions = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Session> current = new ThreadLocal<>();
+    private static final AtomicLong nextId = new AtomicLong();
+    private static final Map<String, AtomicInteger> leaks = new ConcurrentHashMap<>();
+    private static final Set<Session> pendingSlots = ConcurrentHashMap.newKeySet();
+    private static ScheduledExecutorService reaper;
+    private static boolean shutdownHookAdded;
+    
+    /**
+     * Start tracking a session created on the current thread
+     * @param driver Driver that was just created
+     * @param browserName Browser name
+     * @param holdsSlot true if the session holds a ConcurrencyController slot
+     */
+    static void register(WebDriver driver, String browserName, boolean holdsSlot) {
+        List<ProcessHandle> processes = new ArrayList<>();
+        // Pooled contexts share the pool's browser and chromedriver, which the pool cleans up itself
+        if (!DriverManager.isLightweight(browserName) && !BrowserContextPool.isPooled(driver)) {
+            ProcessHandle driverProcess = ResourceMonitor.findDriverProcess(driver);
+            if (driverProcess != null) {
+                // Remember the browser now: it outlives a crashed driver server as an orphan
+                driverProcess.descendants().forEach(processes::add);
+                processes.add(driverProcess);
+            }
+        }
+        Session session = new Session(nextId.incrementAndGet(), driver, browserName, Thread.currentThread(),
+            processes, holdsSlot);
+        sessions.put(session.id, session);
+        current.set(session);
+        startReaper();
+    }
+    
+    /**
+     * Mark the current thread's session as in use
+     * Activity is only seen here, i.e. on DriverManager.getDriver(); a test that keeps using
+     * WebElements or page objects without fetching the driver looks idle
+     * @return false if the session was reaped and must no longer be used
+     */
+    static boolean touch() {
+        Session session = current.get();
+        if (session == null) {
+            return true;
+        }
+        if (session.reaped) {
+            current.remove();
+            // The slot of a session reaped while idle is still held by this thread
+            if (session.slotPending.compareAndSet(true, false)) {
+                pendingSlots.remove(session);
+                ConcurrencyController.release();
+            }
+            return false;
+        }
+        session.lastUsedNanos = System.nanoTime();
+        return true;
+    }
+    
+    /**
+     * Quit a session on behalf of its owning thread and stop tracking it
+     * Does nothing if the reaper already closed it. If quit fails, the session's processes are
+     * killed and the failure is counted as a leak before the exception is rethrown.
+     * @param driver Driver to quit
+     */
+    static void quit(WebDriver driver) {
+        Session session = current.get();
+        current.remove();
+        if (session != null && session.driver == driver && !sessions.remove(session.id, session)) {
+            // Reaped already; DriverManager gives the slot back on this thread
+            if (session.slotPending.compareAndSet(true, false)) {
+                pendingSlots.remove(session);
+            }
+            return;
+        }
+        try {
+            if (!BrowserContextPool.release(driver)) {
+                driver.quit();
+            }
+        } catch (RuntimeException e) {
+            if (session != null && session.driver == driver && !session.processes.isEmpty()) {
+                countLeak("quit_failed");
+                kill(session.processes);
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Get number of sessions currently open
+     * @return Open sessions
+     */
+    public static int getOpenCount() {
+        return sessions.size();
+    }
+    
+    /**
+     * Get number of leaked sessions so far, by reason (owner_dead, idle, quit_failed, shutdown)
+     * @return Leak counts
+     */
+    public static Map<String, Integer> getLeakCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        leaks.forEach((reason, count) -> counts.put(reason, count.get()));
+        return counts;
+    }
+    
+    /**
+     * Reap dead and idle sessions now and report leaks, as at the end of a suite
+     * Sessions still open belong to tests of other suites, so they are only counted
+     * @param suiteName Suite that finished
+     */
+    public static void reportLeaks(String suiteName) {
+        reap();
+        Map<String, Integer> counts = getLeakCounts();
+        int leaked = counts.values().stream().mapToInt(Integer::intValue).sum();
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("suite", suiteName);
+        fields.put("leaked", leaked);
+        fields.put("byReason", counts);
+        fields.put("open", sessions.size());
+        EventLog.publish("session_leaks", fields);
+        if (leaked > 0) {
+            System.out.println("Leaked browser sessions: " + leaked + " " + counts + ", still open: " + sessions.size());
+        }
+    }
+    
+    /**
+     * Close every session whose owning thread has died or that has been idle past the deadline
+     */
+    static void reap() {
+        long idleNanos = TimeUnit.MINUTES.toNanos(ConfigManager.getSessionIdleTimeoutMinutes());
+        long now = System.nanoTime();
+        // Owners of idle-reaped sessions that died before noticing can no longer return their slot
+        for (Session session : pendingSlots) {
+            if (!session.owner.isAlive() && session.slotPending.compareAndSet(true, false)) {
+                pendingSlots.remove(session);
+                ConcurrencyController.releaseAbandoned();
+            }
+        }
+        for (Session session : sessions.values()) {
+            Thread owner = session.owner;
+            if (!owner.isAlive()) {
+                close(session, "owner_dead");
+            } else if (idleNanos > 0 && now - session.lastUsedNanos > idleNanos) {
+                close(session, "idle");
+            }
+        }
+    }
+    
+    /**
+     * Close every open session, for JVM shutdown
+     */
+    private static void closeAll() {
+        for (Session session : sessions.values()) {
+            close(session, "shutdown");
+        }
+    }
+    
+    /**
+     * Close a session from outside its owning thread
+     * Sessions with processes are killed; in-JVM and pooled sessions are quit or released
+     */
+    private static void close(Session session, String reason) {
+        if (!sessions.remove(session.id, session)) {
+            return;
+        }
+        session.reaped = true;
+        countLeak(reason);
+        long ageSeconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - session.createdNanos);
+        long idleSeconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - session.lastUsedNanos);
+        List<Long> pids = new ArrayList<>();
+        try {
+            if (session.processes.isEmpty()) {
+                if (!BrowserContextPool.release(session.driver)) {
+                    session.driver.quit();
+                }
+            } else {
+                session.processes.forEach(process -> pids.add(process.pid()));
+                kill(session.processes);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Failed to close leaked session " + session.id + ": " + e.getMessage());
+        } finally {
+            // The slot flag lives in the owner's thread, so a live owner gives the slot back itself
+            if (session.holdsSlot) {
+                if (!session.owner.isAlive()) {
+                    ConcurrencyController.releaseAbandoned();
+                } else {
+                    session.slotPending.set(true);
+                    pendingSlots.add(session);
+                }
+            }
+        }
+        
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("session", session.id);
+        fields.put("browser", session.browserName);
+        fields.put("reason", reason);
+        fields.put("thread", session.owner.getName());
+        fields.put("ageSeconds", ageSeconds);
+        fields.put("idleSeconds", idleSeconds);
+        fields.put("pids", pids);
+        EventLog.publish("session_reaped", fields);
+        System.out.println("Reaped " + session.browserName + " session " + session.id + " (" + reason
+            + ", thread " + session.owner.getName() + ", idle " + idleSeconds + "s)");
+    }
+    
+    /**
+     * Terminate processes, forcibly if they do not exit within the grace period
+     * Each process's current descendants are included, so helpers started after registration die too
+     * @param processes Processes recorded for the session
+     */
+    private static void kill(List<ProcessHandle> processes) {
+        List<ProcessHandle> tree = new ArrayList<>();
+        for (ProcessHandle process : processes) {
+            process.descendants().forEach(tree::add);
+            tree.add(process);
+        }
+        tree.forEach(ProcessHandle::destroy);
+        long deadline = System.currentTimeMillis() + KILL_GRACE_MILLIS;
+        for (ProcessHandle process : tree) {
+            try {
+                long remaining = Math.max(1, deadline - System.currentTimeMillis());
+                process.onExit().get(remaining, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                // Still running after the grace period
+            }
+        }
+        tree.stream().filter(ProcessHandle::isAlive).forEach(ProcessHandle::destroyForcibly);
+    }
+    
+    private static void countLeak(String reason) {
+        leaks.computeIfAbsent(reason, key -> new AtomicInteger()).incrementAndGet();
+    }
+    
+    private static synchronized void startReaper() {
+        if (!shutdownHookAdded) {
+            Runtime.getRuntime().addShutdownHook(new Thread(SessionRegistry::closeAll, "session-registry-shutdown"));
+            shutdownHookAdded = true;
+        }
+        if (reaper != null || !ConfigManager.isSessionReaperEnabled()) {
+            return;
+        }
+        long interval = Math.max(1, ConfigManager.getSessionReaperIntervalSeconds());
+        reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reaper.scheduleWithFixedDelay(() -> {
+            try {
+                reap();
+            } catch (RuntimeException e) {
+                System.err.println("Session reaper failed: " + e.getMessage());
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * An open driver session and what is needed to clean it up without its owner
+     */
+    private static class Session {
+        private final long id;
+        private final WebDriver driver;
+        private final String browserName;
+        private final Thread owner;
+        private final List<ProcessHandle> processes;
+        private final boolean holdsSlot;
+        private final long createdNanos = System.nanoTime();
+        private volatile long lastUsedNanos = createdNanos;
+        private final AtomicBoolean slotPending = new AtomicBoolean();
+        private volatile boolean reaped;
+        
+        Session(long id, WebDriver driver, String browserName, Thread owner, List<ProcessHandle> processes,
+                boolean holdsSlot) {
+            this.id = id;
+            this.driver = driver;
+            this.browserName = browserName;
+            this.owner = owner;
+            this.processes = processes;
+            this.holdsSlot = holdsSlot;
+        }
+    }
+}
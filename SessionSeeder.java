@@ -0,0 +1,301 @@
+package com.automation.utilities;
+
+import com.automation.config.ConfigManager;
+import com.automation.drivers.DriverManager;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seeds a logged-in browser session without driving the login form
+ * Logs in once per environment and user over HTTP against api.base.url, caches the session cookies and
+ * token until the earliest cookie expiry or session.cache.ttl.seconds, and injects them
+ * into the current driver. Chrome receives the cookies through DevTools before the first
+ * navigation; other browsers get them after loading the application landing page.
+ */
+public class SessionSeeder {
+    private static final Map<String, CompletableFuture<SeededSession>> sessions = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> tokenScriptId = new ThreadLocal<>();
+    
+    /**
+     * Log in over HTTP and inject the session into the current driver
+     * @param username Username
+     * @param password Password
+     * @return Session that was injected
+     */
+    public static SeededSession seedSession(String username, String password) {
+        WebDriver driver = DriverManager.getDriver();
+        if (driver == null) {
+            throw new RuntimeException("No driver to seed a session into, initialize the driver first");
+        }
+        
+        SeededSession session = getSession(username, password);
+        boolean injected = driver instanceof HasDevTools && injectWithDevTools((HasDevTools) driver, session);
+        if (!injected) {
+            injectOnLandingPage(driver, session);
+        }
+        
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("user", username);
+        fields.put("cookies", session.getCookies().size());
+        fields.put("devTools", injected);
+        fields.put("message", "Seeded session for " + username + (injected ? " via DevTools" : " via landing page"));
+        EventLog.publish("session_seeded", fields);
+        return session;
+    }
+    
+    /**
+     * Get a cached session for a user, logging in over HTTP when none is cached or it has expired
+     * Only the first caller for a user logs in; concurrent callers wait for that login instead of
+     * sending their own. The HTTP call runs outside the map, so other users are not blocked.
+     * @param username Username
+     * @param password Password
+     * @return Valid session
+     */
+    public static SeededSession getSession(String username, String password) {
+        String key = cacheKey(username);
+        while (true) {
+            CompletableFuture<SeededSession> pending = new CompletableFuture<>();
+            CompletableFuture<SeededSession> cached = sessions.putIfAbsent(key, pending);
+            if (cached == null) {
+                try {
+                    SeededSession session = login(username, password);
+                    pending.complete(session);
+                    return session;
+                } catch (RuntimeException e) {
+                    sessions.remove(key, pending);
+                    pending.completeExceptionally(e);
+                    throw e;
+                }
+            }
+            
+            SeededSession session;
+            try {
+                session = cached.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+            if (!session.isExpired()) {
+                return session;
+            }
+            sessions.remove(key, cached);
+        }
+    }
+    
+    /**
+     * Drop a user's cached session so the next seed logs in again
+     * @param username Username
+     */
+    public static void invalidate(String username) {
+        sessions.remove(cacheKey(username));
+    }
+    
+    /**
+     * Drop all cached sessions
+     */
+    public static void clearCache() {
+        sessions.clear();
+    }
+    
+    /**
+     * Authenticate against the login endpoint
+     * @param username Username
+     * @param password Password
+     * @return Session built from the response cookies and token
+     */
+    private static SeededSession login(String username, String password) {
+        int timeoutMillis = ConfigManager.getApiTimeout() * 1000;
+        Map<String, String> credentials = new HashMap<>();
+        credentials.put("username", username);
+        credentials.put("password", password);
+        
+        Response response = RestAssured.given()
+            .config(RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+                .setParam("http.connection.timeout", timeoutMillis)
+                .setParam("http.socket.timeout", timeoutMillis)))
+            .baseUri(ConfigManager.getApiBaseUrl())
+            .contentType(ContentType.JSON)
+            .body(credentials)
+            .post(ConfigManager.getSessionLoginPath());
+        
+        if (response.getStatusCode() < 200 || response.getStatusCode() >= 300) {
+            throw new RuntimeException("Session login failed for " + username + ": HTTP " + response.getStatusCode());
+        }
+        
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ConfigManager.getSessionCacheTtlSeconds() * 1000L;
+        List<Cookie> cookies = new ArrayList<>();
+        for (io.restassured.http.Cookie cookie : response.getDetailedCookies()) {
+            Date expiry = cookie.getExpiryDate();
+            if (expiry == null && cookie.getMaxAge() >= 0) {
+                expiry = new Date(now + cookie.getMaxAge() * 1000L);
+            }
+            if (expiry != null) {
+                expiresAt = Math.min(expiresAt, expiry.getTime());
+            }
+            cookies.add(new Cookie(cookie.getName(), cookie.getValue(), cookie.getDomain(),
+                cookie.getPath() != null ? cookie.getPath() : "/", expiry, cookie.isSecured(), cookie.isHttpOnly()));
+        }
+        
+        String token = null;
+        String contentType = response.getContentType();
+        if (contentType != null && contentType.contains("json")) {
+            token = response.jsonPath().getString(ConfigManager.getSessionTokenField());
+        }
+        if (cookies.isEmpty() && token == null) {
+            throw new RuntimeException("Session login for " + username + " returned neither cookies nor a token");
+        }
+        return new SeededSession(username, token, cookies, expiresAt);
+    }
+    
+    /**
+     * Set the session cookies and token through DevTools without loading a page
+     * @param driver Driver with DevTools support
+     * @param session Session to inject
+     * @return true if the session was injected
+     */
+    private static boolean injectWithDevTools(HasDevTools driver, SeededSession session) {
+        String applicationUrl = ConfigManager.getApplicationUrl();
+        try {
+            DevTools devTools = driver.getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            for (Cookie cookie : session.getCookies()) {
+                Map<String, Object> params = new HashMap<>();
+                params.put("name", cookie.getName());
+                params.put("value", cookie.getValue());
+                params.put("url", applicationUrl);
+                if (cookie.getDomain() != null) {
+                    params.put("domain", cookie.getDomain());
+                }
+                params.put("path", cookie.getPath());
+                params.put("secure", cookie.isSecure());
+                params.put("httpOnly", cookie.isHttpOnly());
+                if (cookie.getExpiry() != null) {
+                    params.put("expires", cookie.getExpiry().getTime() / 1000.0);
+                }
+                Map<String, Object> result = devTools.send(new Command<>("Network.setCookie", params,
+                    input -> input.read(Json.MAP_TYPE)));
+                if (Boolean.FALSE.equals(result.get("success"))) {
+                    System.err.println("DevTools rejected session cookie " + cookie.getName());
+                    return false;
+                }
+            }
+            
+            String storageKey = ConfigManager.getSessionTokenStorageKey();
+            if (session.getToken() != null && !storageKey.isEmpty()) {
+                String previous = tokenScriptId.get();
+                if (previous != null) {
+                    devTools.send(new Command<>("Page.removeScriptToEvaluateOnNewDocument",
+                        Collections.singletonMap("identifier", previous)));
+                }
+                // Runs before the application's own scripts on every document of the application origin
+                String source = String.format("if (location.origin === %s) { localStorage.setItem(%s, %s); }",
+                    jsString(origin(applicationUrl)), jsString(storageKey), jsString(session.getToken()));
+                Map<String, Object> result = devTools.send(new Command<>("Page.addScriptToEvaluateOnNewDocument",
+                    Collections.singletonMap("source", source), input -> input.read(Json.MAP_TYPE)));
+                tokenScriptId.set((String) result.get("identifier"));
+            }
+            return true;
+        } catch (Exception e) {
+            System.err.println("DevTools session injection failed, falling back to landing page: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Load the application landing page and add the session cookies and token through WebDriver
+     * @param driver Driver
+     * @param session Session to inject
+     */
+    private static void injectOnLandingPage(WebDriver driver, SeededSession session) {
+        driver.get(ConfigManager.getApplicationUrl());
+        for (Cookie cookie : session.getCookies()) {
+            driver.manage().addCookie(cookie);
+        }
+        
+        String storageKey = ConfigManager.getSessionTokenStorageKey();
+        if (session.getToken() != null && !storageKey.isEmpty() && driver instanceof JavascriptExecutor) {
+            ((JavascriptExecutor) driver).executeScript("localStorage.setItem(arguments[0], arguments[1]);",
+                storageKey, session.getToken());
+        }
+    }
+    
+    private static String cacheKey(String username) {
+        return ConfigManager.getSnapshot().getEnvironment() + "|" + username;
+    }
+    
+    private static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() != -1 ? ":" + uri.getPort() : "");
+    }
+    
+    private static String jsString(String value) {
+        return new Json().toJson(value);
+    }
+    
+    /**
+     * Authenticated session obtained over HTTP
+     */
+    public static class SeededSession {
+        private final String username;
+        private final String token;
+        private final List<Cookie> cookies;
+        private final long expiresAtMillis;
+        
+        SeededSession(String username, String token, List<Cookie> cookies, long expiresAtMillis) {
+            this.username = username;
+            this.token = token;
+            this.cookies = Collections.unmodifiableList(cookies);
+            this.expiresAtMillis = expiresAtMillis;
+        }
+        
+        public String getUsername() {
+            return username;
+        }
+        
+        /**
+         * Get the auth token from the login response
+         * @return Token, or null if the response carried none
+         */
+        public String getToken() {
+            return token;
+        }
+        
+        public List<Cookie> getCookies() {
+            return cookies;
+        }
+        
+        public long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+        
+        /**
+         * Check if the session should no longer be reused
+         * @return true if expired
+         */
+        public boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.automation.listeners;
+
+import com.automation.config.ConfigManager;
+import com.automation.utilities.DurationHistory;
+import com.automation.utilities.EventLog;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Deterministic test sharding across JVM forks and CI machines
+ * Enabled when shard.count is greater than 1. Every shard computes the same plan:
+ * methods with recorded durations are bin-packed longest-first onto the least-loaded shard,
+ * methods without history are placed by hash. Data-driven methods run on every shard,
+ * each keeping an interleaved slice of the data rows. Each shard writes a manifest to
+ * reports/shards with the full plan and its own slice, so results can be merged and coverage checked.
+ * Plans only agree when all shards read the same duration history file.
+ */
+public class ShardSelector implements IMethodInterceptor, IDataProviderInterceptor, ISuiteListener {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<String, List<String>> plannedMethods = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> plannedRows = new ConcurrentHashMap<>();
+    private static final Map<String, List<String>> assignedMethods = new ConcurrentHashMap<>();
+    private static final Map<String, List<Integer>> assignedRows = new ConcurrentHashMap<>();
+    private static final Map<String, Long> predictedLoads = new ConcurrentHashMap<>();
+    
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        int count = ConfigManager.getShardCount();
+        if (count <= 1) {
+            return methods;
+        }
+        
+        int index = ConfigManager.getShardIndex();
+        TreeSet<String> keys = new TreeSet<>();
+        for (IMethodInstance instance : methods) {
+            if (!instance.getMethod().isDataDriven()) {
+                keys.add(methodKey(instance.getMethod()));
+            }
+        }
+        
+        long[] loads = new long[count];
+        Map<String, Integer> plan = plan(keys, DurationHistory.getInstance(), loads);
+        List<IMethodInstance> selected = new ArrayList<>();
+        List<String> plannedKeys = new ArrayList<>();
+        List<String> selectedKeys = new ArrayList<>();
+        for (IMethodInstance instance : methods) {
+            String key = methodKey(instance.getMethod());
+            plannedKeys.add(key);
+            // Data-driven methods run everywhere; their rows are split in the data provider
+            if (instance.getMethod().isDataDriven() || plan.get(key) == index) {
+                selected.add(instance);
+                selectedKeys.add(key);
+            }
+        }
+        
+        plannedMethods.put(context.getName(), plannedKeys);
+        assignedMethods.put(context.getName(), selectedKeys);
+        predictedLoads.put(context.getName(), loads[index]);
+        
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("context", context.getName());
+        fields.put("shardIndex", index);
+        fields.put("shardCount", count);
+        fields.put("methods", selected.size());
+        fields.put("predictedLoadMillis", loads[index]);
+        fields.put("message", String.format("Shard %d/%d of %s: %d of %d method(s), predicted load %.1fs",
+            index, count, context.getName(), selected.size(), methods.size(), loads[index] / 1000.0));
+        EventLog.publish("shard", fields);
+        return selected;
+    }
+    
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext iTestContext) {
+        int count = ConfigManager.getShardCount();
+        if (count <= 1) {
+            return original;
+        }
+        
+        int index = ConfigManager.getShardIndex();
+        String key = methodKey(method);
+        List<Integer> rows = new ArrayList<>();
+        List<Object[]> selected = new ArrayList<>();
+        int row = 0;
+        while (original.hasNext()) {
+            Object[] parameters = original.next();
+            if (rowShard(key, row, count) == index) {
+                selected.add(parameters);
+                rows.add(row);
+            }
+            row++;
+        }
+        plannedRows.put(key, row);
+        assignedRows.put(key, rows);
+        return selected.iterator();
+    }
+    
+    /**
+     * Assign method keys to shards
+     * Unknown methods are hashed first and charged the median duration, then known methods
+     * are placed longest-first on the least-loaded shard (lowest index wins ties)
+     * @param keys Method keys in sorted order
+     * @param history Duration history
+     * @param loads Predicted load per shard, filled in by this call
+     * @return Shard index per method key
+     */
+    static Map<String, Integer> plan(TreeSet<String> keys, DurationHistory history, long[] loads) {
+        int count = loads.length;
+        long fallback = history.medianEstimate();
+        Map<String, Integer> plan = new TreeMap<>();
+        List<String> known = new ArrayList<>();
+        
+        for (String key : keys) {
+            if (history.estimate(key) < 0) {
+                int shard = hashShard(key, count);
+                plan.put(key, shard);
+                loads[shard] += fallback;
+            } else {
+                known.add(key);
+            }
+        }
+        
+        known.sort(Comparator.comparingLong(history::estimate).reversed().thenComparing(Comparator.naturalOrder()));
+        for (String key : known) {
+            int shard = 0;
+            for (int i = 1; i < count; i++) {
+                if (loads[i] < loads[shard]) {
+                    shard = i;
+                }
+            }
+            plan.put(key, shard);
+            loads[shard] += history.estimate(key);
+        }
+        return plan;
+    }
+    
+    /**
+     * Get the shard a data row belongs to
+     * Rows are interleaved so every shard gets an equal share, starting at a per-method offset
+     * so the remainder rows do not always land on shard 0
+     * @param key Method key
+     * @param row Zero-based data row index
+     * @param count Shard count
+     * @return Shard index
+     */
+    static int rowShard(String key, int row, int count) {
+        return (row + hashShard(key, count)) % count;
+    }
+    
+    private static int hashShard(String key, int count) {
+        CRC32 crc = new CRC32();
+        crc.update(key.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % count);
+    }
+    
+    private static String methodKey(ITestNGMethod method) {
+        return DurationHistory.key(method.getRealClass().getName(), method.getMethodName());
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        int count = ConfigManager.getShardCount();
+        if (count <= 1) {
+            return;
+        }
+        
+        int index = ConfigManager.getShardIndex();
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("suite", suite.getName());
+        manifest.put("shardIndex", index);
+        manifest.put("shardCount", count);
+        manifest.put("historyEntries", DurationHistory.getInstance().size());
+        manifest.put("plannedMethods", new TreeMap<>(plannedMethods));
+        manifest.put("plannedRows", new TreeMap<>(plannedRows));
+        manifest.put("methods", new TreeMap<>(assignedMethods));
+        manifest.put("rows", new TreeMap<>(assignedRows));
+        manifest.put("predictedLoadMillis", new TreeMap<>(predictedLoads));
+        manifest.put("outputDirectory", suite.getOutputDirectory());
+        manifest.put("eventLog", EventLog.getLogFile() != null ? EventLog.getLogFile().toString() : null);
+        
+        Path manifestFile = Paths.get(ConfigManager.getReportsPath(), "shards",
+            String.format("shard-%d-of-%d.json", index, count));
+        try {
+            Files.createDirectories(manifestFile.getParent());
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(manifestFile.toFile(), manifest);
+            System.out.println("Shard manifest written: " + manifestFile);
+        } catch (IOException e) {
+            System.err.println("Failed to write shard manifest: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Merge shard manifests and check that every planned method and data row ran exactly once,
+     * then fold the shards' recorded durations into the shared history
+     * Usage: ShardSelector [reports/shards]
+     * @param args Optional manifests directory
+     */
+    public static void main(String[] args) throws IOException {
+        File directory = new File(args.length > 0 ? args[0] : ConfigManager.getReportsPath() + File.separator + "shards");
+        File[] files = directory.listFiles((dir, name) -> name.startsWith("shard-") && name.endsWith(".json"));
+        if (files == null || files.length == 0) {
+            System.err.println("No shard manifests found in " + directory);
+            System.exit(1);
+        }
+        
+        Map<String, List<Object>> methodOwners = new TreeMap<>();
+        Map<String, Map<Integer, List<Object>>> rowOwners = new TreeMap<>();
+        TreeSet<String> planned = new TreeSet<>();
+        Map<String, Integer> plannedRowCounts = new TreeMap<>();
+        int expectedShards = 0;
+        int problems = 0;
+        for (File file : files) {
+            Map<String, Object> manifest = MAPPER.readValue(file, new TypeReference<Map<String, Object>>() { });
+            Object shard = manifest.get("shardIndex");
+            expectedShards = ((Number) manifest.get("shardCount")).intValue();
+            
+            Map<String, List<String>> shardPlan = MAPPER.convertValue(manifest.get("plannedMethods"),
+                new TypeReference<Map<String, List<String>>>() { });
+            if (shardPlan != null) {
+                shardPlan.forEach((context, keys) -> keys.forEach(method -> planned.add(context + " " + method)));
+            }
+            Map<String, Integer> shardRowCounts = MAPPER.convertValue(manifest.get("plannedRows"),
+                new TypeReference<Map<String, Integer>>() { });
+            if (shardRowCounts != null) {
+                for (Map.Entry<String, Integer> method : shardRowCounts.entrySet()) {
+                    Integer previous = plannedRowCounts.put(method.getKey(), method.getValue());
+                    if (previous != null && !previous.equals(method.getValue())) {
+                        System.out.println("Shards planned different row counts (" + previous + " and "
+                            + method.getValue() + "): " + method.getKey());
+                        problems++;
+                    }
+                }
+            }
+            
+            Map<String, List<String>> methods = MAPPER.convertValue(manifest.get("methods"),
+                new TypeReference<Map<String, List<String>>>() { });
+            for (Map.Entry<String, List<String>> context : methods.entrySet()) {
+                for (String method : context.getValue()) {
+                    methodOwners.computeIfAbsent(context.getKey() + " " + method, k -> new ArrayList<>()).add(shard);
+                }
+            }
+            
+            Map<String, List<Integer>> rows = MAPPER.convertValue(manifest.get("rows"),
+                new TypeReference<Map<String, List<Integer>>>() { });
+            for (Map.Entry<String, List<Integer>> method : rows.entrySet()) {
+                for (Integer row : method.getValue()) {
+                    rowOwners.computeIfAbsent(method.getKey(), k -> new TreeMap<>())
+                        .computeIfAbsent(row, k -> new ArrayList<>()).add(shard);
+                }
+            }
+        }
+        
+        if (files.length != expectedShards) {
+            System.out.println("Expected " + expectedShards + " manifest(s), found " + files.length);
+            problems++;
+        }
+        for (Map.Entry<String, List<Object>> entry : methodOwners.entrySet()) {
+            String method = entry.getKey().substring(entry.getKey().indexOf(' ') + 1);
+            boolean dataDriven = plannedRowCounts.containsKey(method) || rowOwners.containsKey(method);
+            if (!dataDriven && entry.getValue().size() > 1) {
+                System.out.println("Method ran on several shards " + entry.getValue() + ": " + entry.getKey());
+                problems++;
+            }
+        }
+        for (String method : planned) {
+            if (!methodOwners.containsKey(method)) {
+                System.out.println("Method ran on no shard: " + method);
+                problems++;
+            }
+        }
+        for (Map.Entry<String, Map<Integer, List<Object>>> method : rowOwners.entrySet()) {
+            for (Map.Entry<Integer, List<Object>> row : method.getValue().entrySet()) {
+                if (row.getValue().size() > 1) {
+                    System.out.println("Row " + row.getKey() + " ran on several shards " + row.getValue() + ": " + method.getKey());
+                    problems++;
+                }
+            }
+        }
+        for (Map.Entry<String, Integer> method : plannedRowCounts.entrySet()) {
+            Map<Integer, List<Object>> owners = rowOwners.getOrDefault(method.getKey(), new TreeMap<>());
+            for (int row = 0; row < method.getValue(); row++) {
+                if (!owners.containsKey(row)) {
+                    System.out.println("Row " + row + " ran on no shard: " + method.getKey());
+                    problems++;
+                }
+            }
+        }
+        
+        Map<String, Object> merged = new LinkedHashMap<>();
+        merged.put("shards", files.length);
+        merged.put("plannedMethods", planned);
+        merged.put("plannedRows", plannedRowCounts);
+        merged.put("methods", methodOwners);
+        merged.put("rows", rowOwners);
+        merged.put("problems", problems);
+        File mergedFile = new File(directory, "merged.json");
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(mergedFile, merged);
+        System.out.println("Merged " + files.length + " shard manifest(s) into " + mergedFile + ", " + problems + " problem(s)");
+        System.out.println("Merged " + DurationHistory.getInstance().mergeShardRuns() + " shard duration run(s) into the history");
+        System.exit(problems == 0 ? 0 : 1);
+    }
+}
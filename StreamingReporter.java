@@ -0,0 +1,303 @@
+package com.automation.utilities;
+
+import com.automation.config.ConfigManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Incremental test report written while the suite runs
+ * Subscribes to the EventLog and appends every finished test to reports/run-<time>-<pid>/results.jsonl
+ * and as a table row to index.html in the same directory. Nothing but counters is kept in memory,
+ * so heap use does not grow with the number of tests. Screenshots and videos are linked by
+ * relative path. The page reloads itself every few seconds until the run is complete.
+ */
+public class StreamingReporter {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int MAX_REASON_LENGTH = 2000;
+    private static final long FLUSH_INTERVAL_NANOS = 250_000_000L;
+    private static final Consumer<Map<String, Object>> SUBSCRIBER = StreamingReporter::onEvent;
+    private static Path reportDir;
+    private static BufferedWriter resultsWriter;
+    private static BufferedWriter htmlWriter;
+    private static int openSuites;
+    private static long passed;
+    private static long failed;
+    private static long skipped;
+    private static long totalDurationMillis;
+    private static Instant startedAt;
+    private static boolean dirty;
+    private static long lastFlushNanos;
+    
+    /**
+     * Open the report files and start listening for test results
+     * Suites running in the same JVM share one report
+     * @param suiteName Suite name shown in the report header
+     */
+    public static synchronized void start(String suiteName) {
+        if (openSuites++ > 0) {
+            return;
+        }
+        passed = 0;
+        failed = 0;
+        skipped = 0;
+        totalDurationMillis = 0;
+        startedAt = Instant.now();
+        try {
+            // The pid keeps reports apart when suites run in parallel forks
+            reportDir = Paths.get(ConfigManager.getReportsPath(), String.format("run-%s-%d",
+                LocalDateTime.now().format(DATE_FORMAT), ProcessHandle.current().pid()));
+            Files.createDirectories(reportDir);
+            resultsWriter = Files.newBufferedWriter(reportDir.resolve("results.jsonl"), StandardCharsets.UTF_8);
+            htmlWriter = Files.newBufferedWriter(reportDir.resolve("index.html"), StandardCharsets.UTF_8);
+            writeHeader(suiteName);
+        } catch (IOException e) {
+            System.err.println("Failed to create streaming report: " + e.getMessage());
+            closeWriters();
+            return;
+        }
+        EventLog.addSubscriber(SUBSCRIBER);
+        System.out.println("Streaming report: " + reportDir.resolve("index.html").toAbsolutePath());
+    }
+    
+    /**
+     * Append the summary, mark the report complete and close it
+     * Call after EventLog.flush() so every result has been appended
+     * @return Report directory, or null if no report was open
+     */
+    public static synchronized Path finish() {
+        if (openSuites == 0 || --openSuites > 0) {
+            return null;
+        }
+        EventLog.removeSubscriber(SUBSCRIBER);
+        if (htmlWriter == null) {
+            return null;
+        }
+        
+        Path dir = reportDir;
+        try {
+            long total = passed + failed + skipped;
+            htmlWriter.write("</tbody></table>\n<div id=\"run-complete\" class=\"summary\">Finished "
+                + escape(Instant.now().toString()) + " &middot; " + total + " tests &middot; "
+                + "<span class=\"pass\">" + passed + " passed</span> &middot; "
+                + "<span class=\"fail\">" + failed + " failed</span> &middot; "
+                + "<span class=\"skip\">" + skipped + " skipped</span> &middot; "
+                + String.format("%.1fs test time", totalDurationMillis / 1000.0) + "</div>\n</body>\n</html>\n");
+        } catch (IOException e) {
+            System.err.println("Failed to complete streaming report: " + e.getMessage());
+        }
+        closeWriters();
+        return dir;
+    }
+    
+    /**
+     * Get the directory of the report being written
+     * @return Report directory, or null before start
+     */
+    public static synchronized Path getReportDir() {
+        return reportDir;
+    }
+    
+    /**
+     * Append the result of a test completed in an earlier, interrupted run
+     * @param type test_success or test_failure
+     * @param finishedAt When the test originally finished
+     * @param fields Test fields as published by TestListener
+     */
+    public static void appendResumed(String type, Instant finishedAt, Map<String, Object> fields) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("timestamp", finishedAt.toString());
+        event.put("type", type);
+        event.putAll(fields);
+        event.put("resumed", true);
+        onEvent(event);
+    }
+    
+    /**
+     * Append a finished test to both files
+     * Runs on the event log drainer, or on the publishing thread when the event log is disabled
+     * @param event Event log event
+     */
+    private static synchronized void onEvent(Map<String, Object> event) {
+        String status;
+        switch (String.valueOf(event.get("type"))) {
+            case "test_success":
+                status = "pass";
+                passed++;
+                break;
+            case "test_failure":
+                status = "fail";
+                failed++;
+                break;
+            case "test_skipped":
+                status = "skip";
+                // A retried attempt is listed but its outcome is the retry's
+                if (!Boolean.TRUE.equals(event.get("retried"))) {
+                    skipped++;
+                }
+                break;
+            default:
+                // Any other event, typically the next test_start, pushes out rows still buffered
+                flush(false);
+                return;
+        }
+        if (resultsWriter == null) {
+            return;
+        }
+        
+        Object duration = event.get("durationMillis");
+        if (duration instanceof Number) {
+            totalDurationMillis += ((Number) duration).longValue();
+        }
+        
+        Map<String, Object> record = new LinkedHashMap<>(event);
+        record.remove("message");
+        record.remove("type");
+        record.put("status", status);
+        try {
+            resultsWriter.write(MAPPER.writeValueAsString(record));
+            resultsWriter.newLine();
+            
+            String reason = event.get("reason") != null ? String.valueOf(event.get("reason")) : "";
+            if (reason.length() > MAX_REASON_LENGTH) {
+                reason = reason.substring(0, MAX_REASON_LENGTH) + "...";
+            }
+            htmlWriter.write("<tr class=\"" + status + "\"><td>" + escape(event.get("timestamp"))
+                + "</td><td>" + status.toUpperCase() + (Boolean.TRUE.equals(event.get("retried")) ? " (retried)" : "")
+                + (Boolean.TRUE.equals(event.get("resumed")) ? " (resumed)" : "")
+                + "</td><td>" + escape(event.get("class")) + "</td><td>" + escape(event.get("test"))
+                + "</td><td>" + escape(event.get("parameters")) + "</td><td>" + (duration != null ? duration : "")
+                + "</td><td><pre>" + escape(reason) + "</pre></td><td>"
+                + link(event.get("screenshot"), "screenshot") + " " + link(event.get("video"), "video")
+                + "</td></tr>\n");
+            dirty = true;
+        } catch (IOException e) {
+            System.err.println("Failed to append to streaming report: " + e.getMessage());
+        }
+        flush(true);
+    }
+    
+    /**
+     * Flush buffered rows so the files on disk are current
+     * @param throttled true to flush at most every 250 ms, so result bursts do not stall the event log
+     */
+    private static void flush(boolean throttled) {
+        if (!dirty || resultsWriter == null || (throttled && System.nanoTime() - lastFlushNanos < FLUSH_INTERVAL_NANOS)) {
+            return;
+        }
+        try {
+            resultsWriter.flush();
+            htmlWriter.flush();
+        } catch (IOException e) {
+            System.err.println("Failed to flush streaming report: " + e.getMessage());
+        }
+        dirty = false;
+        lastFlushNanos = System.nanoTime();
+    }
+    
+    private static void writeHeader(String suiteName) throws IOException {
+        String title = ConfigManager.getReportTitle();
+        htmlWriter.write("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"utf-8\">\n<title>" + escape(title) + "</title>\n"
+            + "<style>\n"
+            + "body{font-family:sans-serif;margin:16px}table{border-collapse:collapse;width:100%}\n"
+            + "th,td{border:1px solid #ccc;padding:4px 6px;text-align:left;vertical-align:top;font-size:13px}\n"
+            + "th{background:#eee;position:sticky;top:0}pre{margin:0;white-space:pre-wrap}\n"
+            + "tr.pass td:nth-child(2),.pass{color:#2e7d32}tr.fail td:nth-child(2),.fail{color:#c62828}\n"
+            + "tr.skip td:nth-child(2),.skip{color:#ef6c00}.summary{margin:12px 0;font-weight:bold}\n"
+            + "</style>\n"
+            // Rows are appended as tests finish; count them on load and keep reloading until the run is complete
+            + "<script>\n"
+            + "window.onload=function(){\n"
+            + "  var n=function(c){return document.querySelectorAll('tr.'+c).length;};\n"
+            + "  if(!document.getElementById('run-complete')){\n"
+            + "    document.getElementById('live').textContent='Running \\u00b7 '+n('pass')+' passed \\u00b7 '+n('fail')"
+            + "+' failed \\u00b7 '+n('skip')+' skipped';\n"
+            + "    setTimeout(function(){location.reload();}," + ConfigManager.getStreamingReportRefreshSeconds() * 1000 + ");\n"
+            + "  }\n"
+            + "};\n"
+            + "</script>\n</head>\n<body>\n"
+            + "<h1>" + escape(title) + "</h1>\n"
+            + "<div>Suite " + escape(suiteName) + " &middot; started " + escape(startedAt.toString()) + "</div>\n"
+            + "<div id=\"live\" class=\"summary\"></div>\n"
+            + "<table>\n<thead><tr><th>Finished</th><th>Status</th><th>Class</th><th>Test</th><th>Parameters</th>"
+            + "<th>Duration (ms)</th><th>Reason</th><th>Artifacts</th></tr></thead>\n<tbody>\n");
+        htmlWriter.flush();
+    }
+    
+    /**
+     * Link to an artifact relative to the report directory, so the report can be moved with its artifacts
+     * @param path Artifact path from the event, may be null
+     * @param label Link text
+     * @return HTML anchor, or empty string
+     */
+    private static String link(Object path, String label) {
+        if (path == null) {
+            return "";
+        }
+        String href;
+        try {
+            href = reportDir.toAbsolutePath().normalize()
+                .relativize(Paths.get(path.toString()).toAbsolutePath().normalize())
+                .toString().replace('\\', '/');
+        } catch (IllegalArgumentException e) {
+            // Different drive on Windows
+            href = Paths.get(path.toString()).toAbsolutePath().toUri().toString();
+        }
+        return "<a href=\"" + escape(href) + "\">" + label + "</a>";
+    }
+    
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<':
+                    escaped.append("&lt;");
+                    break;
+                case '>':
+                    escaped.append("&gt;");
+                    break;
+                case '&':
+                    escaped.append("&amp;");
+                    break;
+                case '"':
+                    escaped.append("&quot;");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+    
+    private static void closeWriters() {
+        for (BufferedWriter writer : new BufferedWriter[] {resultsWriter, htmlWriter}) {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    System.err.println("Failed to close streaming report: " + e.getMessage());
+                }
+            }
+        }
+        resultsWriter = null;
+        htmlWriter = null;
+        dirty = false;
+    }
+}
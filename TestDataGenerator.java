@@ -0,0 +1,368 @@
+package com.automation.utilities;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Generates large synthetic test data sets from a column schema
+ * A schema is a comma-separated list of name=type columns, for example the login shape used with LoginPage:
+ *   TestCase=seq:TC_{n},username=seq:user{n},password=seq:Pass@{n},expectedResult=cycle:success|success|success|success|failure
+ * Column types:
+ *   seq:pattern      pattern with {n} replaced by the 1-based row number
+ *   cycle:a|b|c      values taken in turn by row number
+ *   choice:a|b|c     random pick
+ *   string:length    random alphanumeric string
+ *   int:min-max      random integer in the inclusive range (numeric cell in workbooks)
+ *   bool             random true/false
+ *   uuid             random UUID
+ *   const:value      the same value in every row
+ * Random values are derived from the seed and the row number only, so a seed always yields the
+ * same data set, in every output format. Workbooks are written with SXSSFWorkbook and CSV/JSON with
+ * streaming writers, so memory use does not depend on the row count.
+ *
+ * Usage: TestDataGenerator [--rows=100000] [--seed=42] [--schema=login|spec] [--sheet=LoginData]
+ *                          [--out=target/testdata/login] [--formats=xlsx,csv,json]
+ */
+public class TestDataGenerator {
+    public static final String LOGIN_SCHEMA = "TestCase=seq:TC_{n},username=seq:user{n},password=seq:Pass@{n},"
+        + "expectedResult=cycle:success|success|success|success|failure";
+    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static final long ROW_SEED_STEP = 0x9E3779B97F4A7C15L;
+    private static final int WORKBOOK_WINDOW = 100;
+    private final List<Column> columns;
+    private final long seed;
+    
+    /**
+     * Create a generator
+     * @param schema Column schema, see class documentation
+     * @param seed Random seed
+     */
+    public TestDataGenerator(String schema, long seed) {
+        this.columns = parseSchema(schema);
+        this.seed = seed;
+    }
+    
+    /**
+     * Create a generator for the username/password/expected-result login shape
+     * @param seed Random seed
+     * @return Generator
+     */
+    public static TestDataGenerator login(long seed) {
+        return new TestDataGenerator(LOGIN_SCHEMA, seed);
+    }
+    
+    /**
+     * Get column names in schema order
+     * @return Column names
+     */
+    public List<String> getHeaders() {
+        List<String> headers = new ArrayList<>();
+        for (Column column : columns) {
+            headers.add(column.name);
+        }
+        return Collections.unmodifiableList(headers);
+    }
+    
+    /**
+     * Generate the values of one data row
+     * @param rowNumber 1-based data row number
+     * @return Values in column order
+     */
+    public String[] row(long rowNumber) {
+        String[] values = new String[columns.size()];
+        fillRow(rowNumber, values);
+        return values;
+    }
+    
+    /**
+     * Write a data set in the format given by the file extension (.xlsx, .csv or .json)
+     * @param file Destination file
+     * @param sheetName Sheet name for workbooks
+     * @param rows Number of data rows
+     */
+    public void write(Path file, String sheetName, long rows) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".xlsx")) {
+            writeWorkbook(file, sheetName, rows);
+        } else if (name.endsWith(".csv")) {
+            writeCsv(file, rows);
+        } else if (name.endsWith(".json")) {
+            writeJson(file, rows);
+        } else {
+            throw new IllegalArgumentException("Unsupported output file: " + file);
+        }
+    }
+    
+    /**
+     * Write a workbook with a header row and the given number of data rows
+     * Only WORKBOOK_WINDOW rows are kept in memory; the rest is flushed to compressed temp files
+     * @param file Destination .xlsx file
+     * @param sheetName Sheet name
+     * @param rows Number of data rows
+     */
+    public void writeWorkbook(Path file, String sheetName, long rows) {
+        if (rows > 1_048_575) {
+            throw new IllegalArgumentException("A sheet holds at most 1048575 data rows: " + rows);
+        }
+        SXSSFWorkbook workbook = new SXSSFWorkbook(WORKBOOK_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try (OutputStream out = Files.newOutputStream(createParent(file))) {
+            Sheet sheet = workbook.createSheet(sheetName);
+            Row header = sheet.createRow(0);
+            for (int j = 0; j < columns.size(); j++) {
+                header.createCell(j).setCellValue(columns.get(j).name);
+            }
+            
+            String[] values = new String[columns.size()];
+            for (int i = 1; i <= rows; i++) {
+                fillRow(i, values);
+                Row row = sheet.createRow(i);
+                for (int j = 0; j < values.length; j++) {
+                    if (columns.get(j).numeric) {
+                        row.createCell(j).setCellValue(Long.parseLong(values[j]));
+                    } else {
+                        row.createCell(j).setCellValue(values[j]);
+                    }
+                }
+            }
+            workbook.write(out);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write workbook: " + file, e);
+        } finally {
+            workbook.dispose();
+            try {
+                workbook.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close workbook: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Write a CSV file with a header line and the given number of data rows
+     * @param file Destination .csv file
+     * @param rows Number of data rows
+     */
+    public void writeCsv(Path file, long rows) {
+        try (BufferedWriter writer = Files.newBufferedWriter(createParent(file), StandardCharsets.UTF_8)) {
+            writeCsvLine(writer, getHeaders().toArray(new String[0]));
+            String[] values = new String[columns.size()];
+            for (long i = 1; i <= rows; i++) {
+                fillRow(i, values);
+                writeCsvLine(writer, values);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write CSV file: " + file, e);
+        }
+    }
+    
+    /**
+     * Write a JSON array with one object per data row
+     * @param file Destination .json file
+     * @param rows Number of data rows
+     */
+    public void writeJson(Path file, long rows) {
+        try (JsonGenerator generator = new ObjectMapper().getFactory()
+                .createGenerator(createParent(file).toFile(), JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            String[] values = new String[columns.size()];
+            for (long i = 1; i <= rows; i++) {
+                fillRow(i, values);
+                generator.writeStartObject();
+                for (int j = 0; j < values.length; j++) {
+                    if (columns.get(j).numeric) {
+                        generator.writeNumberField(columns.get(j).name, Long.parseLong(values[j]));
+                    } else {
+                        generator.writeStringField(columns.get(j).name, values[j]);
+                    }
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write JSON file: " + file, e);
+        }
+    }
+    
+    public static void main(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        long rows = Long.parseLong(options.getOrDefault("rows", "100000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        String schema = options.getOrDefault("schema", "login");
+        String sheet = options.getOrDefault("sheet", "LoginData");
+        String out = options.getOrDefault("out", "target/testdata/login");
+        
+        TestDataGenerator generator = new TestDataGenerator("login".equals(schema) ? LOGIN_SCHEMA : schema, seed);
+        for (String format : options.getOrDefault("formats", "xlsx").split(",")) {
+            Path file = Paths.get(out + "." + format.trim());
+            long start = System.nanoTime();
+            generator.write(file, sheet, rows);
+            System.out.println(String.format("Wrote %d rows to %s in %.1fs", rows, file.toAbsolutePath(),
+                (System.nanoTime() - start) / 1_000_000_000.0));
+        }
+    }
+    
+    /**
+     * Fill a row's values; each row gets its own random stream derived from the seed
+     * @param rowNumber 1-based data row number
+     * @param values Destination array, one slot per column
+     */
+    private void fillRow(long rowNumber, String[] values) {
+        SplittableRandom random = new SplittableRandom(mix(seed + rowNumber * ROW_SEED_STEP));
+        for (int j = 0; j < values.length; j++) {
+            values[j] = columns.get(j).value(rowNumber, random);
+        }
+    }
+    
+    /**
+     * Scramble a row seed so neighbouring rows do not get overlapping random streams
+     * @param z Seed
+     * @return Mixed seed (MurmurHash3 finalizer)
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+    
+    private static Path createParent(Path file) throws IOException {
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        return file;
+    }
+    
+    private static void writeCsvLine(BufferedWriter writer, String[] values) throws IOException {
+        for (int j = 0; j < values.length; j++) {
+            if (j > 0) {
+                writer.write(',');
+            }
+            String value = values[j];
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.newLine();
+    }
+    
+    private static List<Column> parseSchema(String schema) {
+        List<Column> parsed = new ArrayList<>();
+        for (String spec : schema.split(",")) {
+            int equals = spec.indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalArgumentException("Column must be name=type: " + spec);
+            }
+            String name = spec.substring(0, equals).trim();
+            String type = spec.substring(equals + 1).trim();
+            int colon = type.indexOf(':');
+            String kind = colon < 0 ? type : type.substring(0, colon);
+            String argument = colon < 0 ? "" : type.substring(colon + 1);
+            parsed.add(new Column(name, kind.toLowerCase(Locale.ROOT), argument));
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("Schema has no columns: " + schema);
+        }
+        return parsed;
+    }
+    
+    /**
+     * One declared column and how its values are produced
+     */
+    private static class Column {
+        private final String name;
+        private final String kind;
+        private final String argument;
+        private final String[] options;
+        private final long min;
+        private final long max;
+        private final boolean numeric;
+        
+        Column(String name, String kind, String argument) {
+            this.name = name;
+            this.kind = kind;
+            this.argument = argument;
+            this.options = argument.split("\\|");
+            this.numeric = "int".equals(kind);
+            switch (kind) {
+                case "int":
+                    int dash = argument.indexOf('-', 1);
+                    if (dash < 0) {
+                        throw new IllegalArgumentException("int column needs min-max: " + name);
+                    }
+                    min = Long.parseLong(argument.substring(0, dash));
+                    max = Long.parseLong(argument.substring(dash + 1));
+                    break;
+                case "string":
+                    min = 0;
+                    max = Integer.parseInt(argument.isEmpty() ? "12" : argument);
+                    break;
+                case "seq":
+                case "cycle":
+                case "choice":
+                case "bool":
+                case "uuid":
+                case "const":
+                    min = 0;
+                    max = 0;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown column type '" + kind + "' for " + name);
+            }
+        }
+        
+        String value(long rowNumber, SplittableRandom random) {
+            switch (kind) {
+                case "seq":
+                    return argument.replace("{n}", String.valueOf(rowNumber));
+                case "cycle":
+                    return options[(int) ((rowNumber - 1) % options.length)];
+                case "choice":
+                    return options[random.nextInt(options.length)];
+                case "string":
+                    char[] chars = new char[(int) max];
+                    for (int i = 0; i < chars.length; i++) {
+                        chars[i] = ALPHANUMERIC.charAt(random.nextInt(ALPHANUMERIC.length()));
+                    }
+                    return new String(chars);
+                case "int":
+                    return String.valueOf(min + random.nextLong(max - min + 1));
+                case "bool":
+                    return String.valueOf(random.nextBoolean());
+                case "uuid":
+                    return new UUID((random.nextLong() & ~0xF000L) | 0x4000L,
+                        (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L).toString();
+                default:
+                    return argument;
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.automation.utilities;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Tabular test data read from a file
+ * Excel, CSV and JSON sources all expose a header row and data rows of strings, so the
+ * same DataProvider and lookup code works whichever format a data set is stored in.
+ * Use open() to pick the implementation from the file extension.
+ */
+public interface TestDataSource extends AutoCloseable {
+    
+    /**
+     * Open a data file, choosing the reader from its extension
+     * Workbooks use their first sheet
+     * @param filePath .xlsx, .csv or .json file path
+     * @return Data source
+     */
+    static TestDataSource open(String filePath) {
+        String lower = filePath.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".csv")) {
+            return new CsvDataSource(filePath);
+        }
+        if (lower.endsWith(".json") || lower.endsWith(".jsonl")) {
+            return new JsonDataSource(filePath);
+        }
+        if (lower.endsWith(".xlsx") || lower.endsWith(".xls")) {
+            ExcelUtility excel = new ExcelUtility(filePath);
+            excel.setSheet(0);
+            return excel;
+        }
+        throw new IllegalArgumentException("Unsupported test data file: " + filePath);
+    }
+    
+    /**
+     * Get header row values
+     * @return Column names in column order
+     */
+    List<String> getHeaders();
+    
+    /**
+     * Visit each data row (excluding header) without building a copy of the data set
+     * @param rowConsumer Receives each row's values in column order
+     */
+    void forEachDataRow(Consumer<String[]> rowConsumer);
+    
+    /**
+     * Get all data rows as 2D array, usable directly as a DataProvider result
+     * @return 2D string array with all data rows
+     */
+    default String[][] getAllData() {
+        int columns = getHeaders().size();
+        List<String[]> rows = new ArrayList<>();
+        forEachDataRow(values -> rows.add(values.length == columns ? values : pad(values, columns)));
+        return rows.toArray(new String[0][]);
+    }
+    
+    /**
+     * Get test data as list of maps (column name -> value)
+     * @return List of test data maps
+     */
+    default List<Map<String, String>> getTestDataAsMaps() {
+        List<String> headers = getHeaders();
+        List<Map<String, String>> testData = new ArrayList<>();
+        forEachDataRow(values -> testData.add(toMap(headers, values)));
+        return testData;
+    }
+    
+    /**
+     * Get specific test data by test case name
+     * @param testCaseName Test case name
+     * @param testCaseColumn Column name containing test case names
+     * @return Test data map
+     */
+    default Map<String, String> getTestDataByName(String testCaseName, String testCaseColumn) {
+        List<String> headers = getHeaders();
+        int column = headers.indexOf(testCaseColumn);
+        if (column < 0) {
+            throw new RuntimeException("Column not found: " + testCaseColumn);
+        }
+        
+        List<Map<String, String>> found = new ArrayList<>(1);
+        forEachDataRow(values -> {
+            if (found.isEmpty() && column < values.length && testCaseName.equals(values[column])) {
+                found.add(toMap(headers, values));
+            }
+        });
+        if (found.isEmpty()) {
+            throw new RuntimeException("Test case not found: " + testCaseName);
+        }
+        return found.get(0);
+    }
+    
+    /**
+     * Release the underlying file
+     */
+    @Override
+    void close();
+    
+    /**
+     * Pair a row's values with the header names; missing values become empty strings
+     * @param headers Column names
+     * @param values Row values
+     * @return Row map in column order
+     */
+    static Map<String, String> toMap(List<String> headers, String[] values) {
+        Map<String, String> row = new LinkedHashMap<>();
+        for (int i = 0; i < headers.size(); i++) {
+            row.put(headers.get(i), i < values.length && values[i] != null ? values[i] : "");
+        }
+        return row;
+    }
+    
+    private static String[] pad(String[] values, int columns) {
+        String[] padded = new String[columns];
+        for (int i = 0; i < columns; i++) {
+            padded[i] = i < values.length && values[i] != null ? values[i] : "";
+        }
+        return padded;
+    }
+}
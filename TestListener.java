@@ -1,35 +1,70 @@
 package com.automation.listeners;
 
+import com.automation.config.ConfigManager;
 import com.automation.drivers.DriverManager;
+import com.automation.drivers.SessionRegistry;
+import com.automation.utilities.CheckpointJournal;
+import com.automation.utilities.DurationHistory;
+import com.automation.utilities.EventLog;
+import com.automation.utilities.FailureVideoRecorder;
+import com.automation.utilities.PerformanceMonitor;
+import com.automation.utilities.ResourceMonitor;
+import com.automation.utilities.ScreenshotRetentionService;
 import com.automation.utilities.ScreenshotUtility;
+import com.automation.utilities.ScreenshotWriter;
+import com.automation.utilities.StreamingReporter;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * TestNG Listener for handling test events
  * Provides logging and screenshot capture functionality
+ * Events go to the asynchronous EventLog instead of blocking on stdout
  */
-public class TestListener implements ITestListener {
+public class TestListener implements ITestListener, ISuiteListener {
     
     @Override
     public void onTestStart(ITestResult result) {
-        System.out.println("Starting test: " + result.getMethod().getMethodName());
+        Map<String, Object> fields = testFields(result);
+        fields.put("message", "Starting test: " + result.getMethod().getMethodName());
+        EventLog.publish("test_start", fields);
+        
+        // Each failure clip should only cover the failing test
+        FailureVideoRecorder.discard();
+        PerformanceMonitor.setCurrentTest(result.getMethod().getMethodName());
+        ResourceMonitor.setCurrentTest(result.getMethod().getMethodName());
     }
     
     @Override
     public void onTestSuccess(ITestResult result) {
-        System.out.println("Test passed: " + result.getMethod().getMethodName());
+        Map<String, Object> fields = testFields(result);
+        fields.put("durationMillis", result.getEndMillis() - result.getStartMillis());
+        fields.put("message", "Test passed: " + result.getMethod().getMethodName());
+        EventLog.publish("test_success", fields);
+        recordDuration(result);
+        recordCheckpoint(result, 'P', null);
+        FailureVideoRecorder.discard();
     }
     
     @Override
     public void onTestFailure(ITestResult result) {
-        System.out.println("Test failed: " + result.getMethod().getMethodName());
-        System.out.println("Failure reason: " + result.getThrowable().getMessage());
+        recordDuration(result);
+        Map<String, Object> fields = testFields(result);
+        fields.put("durationMillis", result.getEndMillis() - result.getStartMillis());
+        fields.put("error", result.getThrowable() != null ? result.getThrowable().getClass().getName() : null);
+        fields.put("reason", result.getThrowable() != null ? result.getThrowable().getMessage() : null);
         
         // Capture screenshot on failure
+        String screenshotPath = null;
         try {
             if (DriverManager.getDriver() != null) {
-                String screenshotPath = ScreenshotUtility.captureFailureScreenshot(
+                screenshotPath = ScreenshotUtility.captureFailureScreenshot(
                     DriverManager.getDriver(), 
                     result.getMethod().getMethodName()
                 );
@@ -41,11 +76,155 @@ public class TestListener implements ITestListener {
         } catch (Exception e) {
             System.err.println("Failed to capture screenshot: " + e.getMessage());
         }
+        
+        // Write the buffered video only for failures
+        String videoPath = null;
+        try {
+            videoPath = FailureVideoRecorder.saveFailureClip(result.getMethod().getMethodName());
+            if (videoPath != null) {
+                System.setProperty("video.path", videoPath);
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to save failure video: " + e.getMessage());
+        }
+        
+        fields.put("screenshot", screenshotPath);
+        fields.put("video", videoPath);
+        fields.put("message", "Test failed: " + result.getMethod().getMethodName()
+            + System.lineSeparator() + "Failure reason: " + fields.get("reason"));
+        EventLog.publish("test_failure", fields);
+        recordCheckpoint(result, 'F', (String) fields.get("reason"));
     }
     
     @Override
     public void onTestSkipped(ITestResult result) {
-        System.out.println("Test skipped: " + result.getMethod().getMethodName());
-        System.out.println("Skip reason: " + result.getThrowable().getMessage());
+        Map<String, Object> fields = testFields(result);
+        fields.put("reason", result.getThrowable() != null ? result.getThrowable().getMessage() : null);
+        fields.put("retried", result.wasRetried());
+        fields.put("message", "Test skipped: " + result.getMethod().getMethodName()
+            + System.lineSeparator() + "Skip reason: " + fields.get("reason"));
+        EventLog.publish("test_skipped", fields);
+        FailureVideoRecorder.discard();
+        // A retried attempt is not an outcome; the retry records the row
+        if (!result.wasRetried()) {
+            recordCheckpoint(result, 'S', (String) fields.get("reason"));
+        }
+    }
+    
+    @Override
+    public void onFinish(ITestContext context) {
+        // Compare the scheduler's prediction with what actually happened
+        Object predicted = context.getAttribute(LongestFirstInterceptor.PREDICTED_MAKESPAN_ATTRIBUTE);
+        long actual = context.getEndDate().getTime() - context.getStartDate().getTime();
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("context", context.getName());
+        fields.put("predictedMakespanMillis", predicted);
+        fields.put("actualMakespanMillis", actual);
+        fields.put("message", predicted != null
+            ? String.format("%s makespan: predicted %.1fs, actual %.1fs", context.getName(), ((Long) predicted) / 1000.0, actual / 1000.0)
+            : String.format("%s makespan: %.1fs", context.getName(), actual / 1000.0));
+        EventLog.publish("makespan", fields);
+    }
+    
+    @Override
+    public void onStart(ISuite suite) {
+        if (ConfigManager.isStreamingReportEnabled()) {
+            StreamingReporter.start(suite.getName());
+        }
+        // Opened after the report so resumed rows can be merged into it
+        if (ConfigManager.isCheckpointEnabled()) {
+            CheckpointJournal.open(suite.getName(), ConfigManager.isCheckpointResumeEnabled());
+        }
+        
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("suite", suite.getName());
+        EventLog.publish("suite_start", fields);
+        
+        // Retention runs on its own thread so suite start is never blocked by cleanup
+        if (ConfigManager.isScreenshotRetentionEnabled()) {
+            ScreenshotRetentionService.start();
+        }
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        // Make sure every failure screenshot and video is on disk before reports are built
+        FailureVideoRecorder.drain(ConfigManager.getScreenshotWriterDrainTimeout());
+        ScreenshotWriter.drain();
+        
+        if (ScreenshotWriter.getDroppedCount() > 0) {
+            System.out.println("Screenshots dropped (writer queue full): " + ScreenshotWriter.getDroppedCount());
+        }
+        
+        if (ConfigManager.isVideoRecordingEnabled()) {
+            System.out.println(String.format("Video buffer peak per session: %.1f MB",
+                FailureVideoRecorder.getPeakSessionBytes() / (1024.0 * 1024.0)));
+        }
+        
+        if (ConfigManager.isPerformanceMonitoringEnabled()) {
+            PerformanceMonitor.export();
+        }
+        if (ConfigManager.isMemoryMonitoringEnabled()) {
+            ResourceMonitor.writeReport();
+        }
+        
+        SessionRegistry.reportLeaks(suite.getName());
+        
+        // Next run schedules from these durations
+        DurationHistory.getInstance().save();
+        CheckpointJournal.close();
+        
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("suite", suite.getName());
+        EventLog.publish("suite_finish", fields);
+        
+        // Everything the suite produced is on disk before reports read it
+        EventLog.flush();
+        if (EventLog.getDroppedCount() > 0) {
+            System.out.println("Events dropped (event log full): " + EventLog.getDroppedCount());
+        }
+        StreamingReporter.finish();
+    }
+    
+    /**
+     * Add a finished invocation to the duration history
+     * Skipped tests did not run, so they are not recorded
+     * @param result Test result
+     */
+    private void recordDuration(ITestResult result) {
+        DurationHistory.getInstance().record(result.getTestContext().getName(),
+            DurationHistory.key(result.getTestClass().getRealClass().getName(), result.getMethod().getMethodName()),
+            result.getEndMillis() - result.getStartMillis());
+    }
+    
+    /**
+     * Journal a finished data-driven row so an interrupted run can resume after it
+     * @param result Test result
+     * @param status P, F or S
+     * @param reason Failure or skip reason
+     */
+    private void recordCheckpoint(ITestResult result, char status, String reason) {
+        Object[] parameters = result.getParameters();
+        if (parameters != null && parameters.length > 0) {
+            CheckpointJournal.record(
+                DurationHistory.key(result.getTestClass().getRealClass().getName(), result.getMethod().getMethodName()),
+                parameters, status, result.getEndMillis() - result.getStartMillis(), reason);
+        }
+    }
+    
+    /**
+     * Common fields identifying a test invocation
+     * @param result Test result
+     * @return Mutable field map
+     */
+    private Map<String, Object> testFields(ITestResult result) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("test", result.getMethod().getMethodName());
+        fields.put("class", result.getTestClass().getName());
+        Object[] parameters = result.getParameters();
+        if (parameters != null && parameters.length > 0) {
+            fields.put("parameters", CheckpointJournal.describe(parameters));
+        }
+        return fields;
     }
 }
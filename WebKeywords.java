@@ -1,7 +1,9 @@
 package com.automation.keywords;
 
 import com.automation.config.ConfigManager;
+import com.automation.config.ConfigSnapshot;
 import com.automation.drivers.DriverManager;
+import com.automation.utilities.PerformanceMonitor;
 import com.automation.utilities.ScreenshotUtility;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
@@ -20,16 +22,25 @@ import java.util.List;
  * Provides reusable keywords for web testing
  */
 public class WebKeywords {
-    private static WebDriverWait wait;
-    
-    /**
-     * Initialize WebDriver wait
-     */
-    private static void initializeWait() {
-        if (wait == null) {
-            wait = new WebDriverWait(DriverManager.getDriver(), 
-                Duration.ofSeconds(ConfigManager.getExplicitWait()));
+    private static ThreadLocal<WebDriverWait> wait = new ThreadLocal<>();
+    private static ThreadLocal<WebDriver> waitDriver = new ThreadLocal<>();
+    private static ThreadLocal<ConfigSnapshot> waitConfig = new ThreadLocal<>();
+    
+    /**
+     * Get the WebDriver wait for the current thread's driver
+     * The wait is rebuilt whenever the thread's driver or the configuration changes
+     * @return WebDriverWait bound to the current driver
+     */
+    private static WebDriverWait getWait() {
+        WebDriver currentDriver = DriverManager.getDriver();
+        ConfigSnapshot currentConfig = ConfigManager.getSnapshot();
+        if (wait.get() == null || waitDriver.get() != currentDriver || waitConfig.get() != currentConfig) {
+            wait.set(new WebDriverWait(currentDriver, 
+                Duration.ofSeconds(currentConfig.getExplicitWait())));
+            waitDriver.set(currentDriver);
+            waitConfig.set(currentConfig);
         }
+        return wait.get();
     }
     
     /**
@@ -56,6 +67,7 @@ public class WebKeywords {
      */
     public static void navigateToURL(String url) {
         DriverManager.getDriver().get(url);
+        PerformanceMonitor.recordNavigation("navigate " + url);
     }
     
     /**
@@ -71,8 +83,7 @@ public class WebKeywords {
      * @return WebElement
      */
     public static WebElement findElement(By locator) {
-        initializeWait();
-        return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        return getWait().until(ExpectedConditions.presenceOfElementLocated(locator));
     }
     
     /**
@@ -92,8 +103,7 @@ public class WebKeywords {
      * @return List of WebElements
      */
     public static List<WebElement> findElements(By locator) {
-        initializeWait();
-        wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        getWait().until(ExpectedConditions.presenceOfElementLocated(locator));
         return DriverManager.getDriver().findElements(locator);
     }
     
@@ -102,9 +112,11 @@ public class WebKeywords {
      * @param locator Element locator
      */
     public static void clickElement(By locator) {
-        initializeWait();
-        WebElement element = wait.until(ExpectedConditions.elementToBeClickable(locator));
+        WebElement element = getWait().until(ExpectedConditions.elementToBeClickable(locator));
+        // The old root element going stale after the click means the click loaded a new document
+        PerformanceMonitor.NavigationWatch watch = PerformanceMonitor.watchNavigation(element);
         element.click();
+        PerformanceMonitor.recordIfNavigated(watch, "click " + locator);
     }
     
     /**
@@ -123,8 +135,7 @@ public class WebKeywords {
      * @param text Text to enter
      */
     public static void enterText(By locator, String text) {
-        initializeWait();
-        WebElement element = wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        WebElement element = getWait().until(ExpectedConditions.presenceOfElementLocated(locator));
         element.clear();
         element.sendKeys(text);
     }
@@ -358,7 +369,7 @@ public class WebKeywords {
      * @param locatorValue Locator value
      * @return By locator
      */
-    private static By getByLocator(String locatorType, String locatorValue) {
+    public static By getByLocator(String locatorType, String locatorValue) {
         switch (locatorType.toLowerCase()) {
             case "id":
                 return By.id(locatorValue);
@@ -0,0 +1,93 @@
+package com.automation.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file against the checked-in baseline
+ * Exits with status 1 when any benchmark regressed beyond the tolerance
+ *
+ * Usage: BaselineComparator baseline.json current.json [tolerancePercent]
+ */
+public class BaselineComparator {
+    private static final double DEFAULT_TOLERANCE_PERCENT = 20.0;
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparator <baseline.json> <current.json> [tolerancePercent]");
+            System.exit(2);
+        }
+        
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE_PERCENT;
+        Map<String, JsonNode> baseline = readResults(new File(args[0]));
+        Map<String, JsonNode> current = readResults(new File(args[1]));
+        
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode base = baseline.get(entry.getKey());
+            if (base == null) {
+                System.out.println("NEW        " + entry.getKey());
+                continue;
+            }
+            
+            double baseScore = base.path("primaryMetric").path("score").asDouble();
+            double currentScore = entry.getValue().path("primaryMetric").path("score").asDouble();
+            String unit = entry.getValue().path("primaryMetric").path("scoreUnit").asText();
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+            
+            // Positive change always means "got worse", whatever the mode
+            double change = baseScore == 0 ? 0 : (currentScore - baseScore) / baseScore * 100.0;
+            if (higherIsBetter) {
+                change = -change;
+            }
+            
+            String status = change > tolerance ? "REGRESSED" : "OK";
+            if (change > tolerance) {
+                regressions++;
+            }
+            
+            System.out.println(String.format("%-10s %s: %.3f -> %.3f %s (%+.1f%%)",
+                status, entry.getKey(), baseScore, currentScore, unit, change));
+        }
+        
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.println("MISSING    " + key);
+            }
+        }
+        
+        System.out.println(regressions + " regression(s) beyond " + tolerance + "% tolerance");
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+    
+    /**
+     * Read a JMH JSON result file keyed by benchmark name and parameters
+     * @param file JMH result file (-rf json)
+     * @return Results keyed by benchmark and sorted parameters
+     */
+    private static Map<String, JsonNode> readResults(File file) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(file);
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        
+        for (JsonNode result : root) {
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                params.put(field.getKey(), field.getValue().asText());
+            }
+            
+            String key = result.path("benchmark").asText() + (params.isEmpty() ? "" : params.toString());
+            results.put(key, result);
+        }
+        
+        return results;
+    }
+}
@@ -0,0 +1,57 @@
+package com.automation.benchmarks;
+
+import com.automation.utilities.TestDataGenerator;
+
+import java.nio.file.Path;
+
+/**
+ * Generated data sets shared by the benchmarks
+ * Sheets, CSV and JSON files mirror the login data shape used with LoginPage and come from
+ * TestDataGenerator, so every format holds the same rows
+ */
+public final class BenchmarkData {
+    public static final String SHEET_NAME = "LoginData";
+    public static final String TEST_CASE_COLUMN = "TestCase";
+    public static final String[] HEADERS = {TEST_CASE_COLUMN, "username", "password", "expectedResult"};
+    private static final TestDataGenerator LOGIN_DATA = TestDataGenerator.login(42);
+    
+    private BenchmarkData() {
+    }
+    
+    /**
+     * Write a login data workbook with the given number of data rows
+     * Uses a streaming workbook so generation stays in bounded memory
+     * @param file Destination .xlsx file
+     * @param rows Number of data rows (header excluded)
+     */
+    public static void writeLoginWorkbook(Path file, int rows) {
+        LOGIN_DATA.writeWorkbook(file, SHEET_NAME, rows);
+    }
+    
+    /**
+     * Write the same login data as a CSV file
+     * @param file Destination .csv file
+     * @param rows Number of data rows (header excluded)
+     */
+    public static void writeLoginCsv(Path file, int rows) {
+        LOGIN_DATA.writeCsv(file, rows);
+    }
+    
+    /**
+     * Write the same login data as a JSON array of objects
+     * @param file Destination .json file
+     * @param rows Number of data rows
+     */
+    public static void writeLoginJson(Path file, int rows) {
+        LOGIN_DATA.writeJson(file, rows);
+    }
+    
+    /**
+     * Test case name written to the given data row
+     * @param row Data row number (1-based)
+     * @return Test case name
+     */
+    public static String testCaseName(int row) {
+        return "TC_" + row;
+    }
+}
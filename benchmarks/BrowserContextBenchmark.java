@@ -0,0 +1,138 @@
+package com.automation.benchmarks;
+
+import com.automation.config.ConfigManager;
+import com.automation.drivers.BrowserContextPool;
+import com.automation.drivers.DriverManager;
+import com.automation.keywords.WebKeywords;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares one browser process per test with isolated browser contexts in shared processes
+ * Every simulated test starts a session, opens the LoginFixtureServer page, checks that it
+ * sees no cookies from other tests, sets its own cookie and quits. Reports session start
+ * cost, peak resident memory of all driver and browser processes, and isolation violations.
+ *
+ * Usage: BrowserContextBenchmark [--threads=4] [--tests=40] [--modes=process,context]
+ *                                [--out=target/browser-context-results.json]
+ */
+public class BrowserContextBenchmark {
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int threads = Integer.parseInt(options.getOrDefault("threads", "4"));
+        int tests = Integer.parseInt(options.getOrDefault("tests", "40"));
+        String out = options.getOrDefault("out", "target/browser-context-results.json");
+        
+        System.setProperty("headless", "true");
+        List<Map<String, Object>> results = new ArrayList<>();
+        try (LoginFixtureServer fixture = new LoginFixtureServer(0, 0, 0, 250)) {
+            fixture.start();
+            for (String mode : options.getOrDefault("modes", "process,context").split(",")) {
+                System.setProperty("browser.contexts.enabled", String.valueOf("context".equals(mode.trim())));
+                ConfigManager.reload();
+                Map<String, Object> result = run(fixture, threads, tests);
+                result.put("mode", mode.trim());
+                BrowserContextPool.shutdown();
+                results.add(result);
+                System.out.println(String.format(
+                    "mode=%s tests=%s errors=%s isolationViolations=%s avgStart=%.1fms peakRss=%.1fMB wall=%.1fs",
+                    result.get("mode"), result.get("tests"), result.get("errors"), result.get("isolationViolations"),
+                    result.get("avgSessionStartMillis"), result.get("peakRssMb"), result.get("wallSeconds")));
+            }
+        }
+        
+        Path outPath = Paths.get(out);
+        if (outPath.getParent() != null) {
+            Files.createDirectories(outPath.getParent());
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(outPath.toFile(), results);
+        System.out.println("Results written to " + outPath.toAbsolutePath());
+    }
+    
+    private static Map<String, Object> run(LoginFixtureServer fixture, int threads, int tests) throws Exception {
+        AtomicInteger nextTest = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger violations = new AtomicInteger();
+        AtomicLong startNanos = new AtomicLong();
+        List<Long> starts = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(threads);
+        
+        ThroughputBenchmark.MemorySampler memory = new ThroughputBenchmark.MemorySampler();
+        memory.start();
+        long wallStart = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    int test;
+                    while ((test = nextTest.getAndIncrement()) < tests) {
+                        try {
+                            long start = System.nanoTime();
+                            DriverManager.initializeDriver("chrome");
+                            long elapsed = System.nanoTime() - start;
+                            startNanos.addAndGet(elapsed);
+                            starts.add(elapsed);
+                            
+                            WebKeywords.navigateToURL(fixture.getLoginUrl());
+                            WebDriver driver = DriverManager.getDriver();
+                            // A fresh, isolated session never sees another test's cookie
+                            if (!driver.manage().getCookies().isEmpty()) {
+                                violations.incrementAndGet();
+                            }
+                            driver.manage().addCookie(new Cookie("benchmarkTest", String.valueOf(test)));
+                            Cookie cookie = driver.manage().getCookieNamed("benchmarkTest");
+                            if (cookie == null || !String.valueOf(test).equals(cookie.getValue())) {
+                                violations.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            System.err.println("Test " + test + " failed: " + e.getMessage());
+                        } finally {
+                            DriverManager.quitDriver();
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "context-benchmark-" + t);
+            worker.start();
+        }
+        done.await();
+        long wallNanos = System.nanoTime() - wallStart;
+        memory.stop();
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("threads", threads);
+        result.put("tests", tests);
+        result.put("errors", errors.get());
+        result.put("isolationViolations", violations.get());
+        result.put("avgSessionStartMillis", starts.isEmpty() ? 0 : startNanos.get() / 1_000_000.0 / starts.size());
+        result.put("peakRssMb", memory.getPeakBytes() / (1024.0 * 1024.0));
+        result.put("avgRssMb", memory.getAverageBytes() / (1024.0 * 1024.0));
+        result.put("wallSeconds", wallNanos / 1_000_000_000.0);
+        return result;
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
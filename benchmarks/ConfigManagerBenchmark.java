@@ -0,0 +1,56 @@
+package com.automation.benchmarks;
+
+import com.automation.config.ConfigManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for ConfigManager lookups under contention
+ * All threads hit the shared configuration at once, as parallel keyword calls do
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ConfigManagerBenchmark {
+    
+    @Benchmark
+    public String getProperty() {
+        return ConfigManager.getProperty("browser");
+    }
+    
+    @Benchmark
+    public String getPropertyWithDefault() {
+        return ConfigManager.getProperty("benchmark.missing.key", "fallback");
+    }
+    
+    @Benchmark
+    public int getImplicitWait() {
+        return ConfigManager.getImplicitWait();
+    }
+    
+    @Benchmark
+    public int getExplicitWait() {
+        return ConfigManager.getExplicitWait();
+    }
+    
+    @Benchmark
+    public boolean isHeadless() {
+        return ConfigManager.isHeadless();
+    }
+    
+    @Benchmark
+    public String getApplicationUrl() {
+        return ConfigManager.getApplicationUrl();
+    }
+}
@@ -0,0 +1,99 @@
+package com.automation.benchmarks;
+
+import com.automation.utilities.CsvDataSource;
+import com.automation.utilities.ExcelUtility;
+import com.automation.utilities.JsonDataSource;
+import com.automation.utilities.TestDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse throughput of the same login data set stored as .xlsx, CSV and JSON
+ * parse opens the file and visits every row, which is what a DataProvider pays per run;
+ * rows per second is rows divided by the reported time
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DataSourceBenchmark {
+    
+    @Param({"xlsx", "csv", "json"})
+    public String format;
+    
+    @Param({"1000", "100000"})
+    public int rows;
+    
+    private Path dataFile;
+    
+    @Setup(Level.Trial)
+    public void generateData() throws IOException {
+        dataFile = Files.createTempFile("data-source-benchmark-" + rows + "-", "." + format);
+        switch (format) {
+            case "xlsx":
+                BenchmarkData.writeLoginWorkbook(dataFile, rows);
+                break;
+            case "csv":
+                BenchmarkData.writeLoginCsv(dataFile, rows);
+                break;
+            case "json":
+                BenchmarkData.writeLoginJson(dataFile, rows);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown format: " + format);
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void deleteData() throws IOException {
+        Files.deleteIfExists(dataFile);
+    }
+    
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        try (TestDataSource source = open()) {
+            source.forEachDataRow(blackhole::consume);
+        }
+    }
+    
+    @Benchmark
+    public Map<String, String> getTestDataByName() {
+        // Worst case: the requested test case is on the last row
+        try (TestDataSource source = open()) {
+            return source.getTestDataByName(BenchmarkData.testCaseName(rows), BenchmarkData.TEST_CASE_COLUMN);
+        }
+    }
+    
+    private TestDataSource open() {
+        switch (format) {
+            case "xlsx":
+                ExcelUtility excel = new ExcelUtility(dataFile.toString());
+                excel.setSheet(BenchmarkData.SHEET_NAME);
+                return excel;
+            case "csv":
+                return new CsvDataSource(dataFile.toString());
+            default:
+                return new JsonDataSource(dataFile.toString());
+        }
+    }
+}
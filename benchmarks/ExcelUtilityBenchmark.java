@@ -0,0 +1,88 @@
+package com.automation.benchmarks;
+
+import com.automation.utilities.ExcelUtility;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for ExcelUtility loading and lookups on generated sheets
+ * Large sheets are slow to load, so everything runs as single-shot iterations.
+ * The 1,000,000-row point needs more heap than the default fork and is opt-in:
+ * -p rows=1000000 -jvmArgsAppend "-Xmx8g -Dexcel.max.part.size.mb=512"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ExcelUtilityBenchmark {
+    
+    @Param({"1000", "100000"})
+    public int rows;
+    
+    private Path workbookFile;
+    private ExcelUtility excel;
+    
+    @Setup(Level.Trial)
+    public void generateWorkbook() throws IOException {
+        workbookFile = Files.createTempFile("excel-benchmark-" + rows + "-", ".xlsx");
+        BenchmarkData.writeLoginWorkbook(workbookFile, rows);
+        excel = new ExcelUtility(workbookFile.toString());
+        excel.setSheet(BenchmarkData.SHEET_NAME);
+    }
+    
+    @TearDown(Level.Trial)
+    public void deleteWorkbook() throws IOException {
+        excel.closeWorkbook();
+        Files.deleteIfExists(workbookFile);
+    }
+    
+    @Benchmark
+    public ExcelUtility load() {
+        ExcelUtility loaded = new ExcelUtility(workbookFile.toString());
+        loaded.setSheet(BenchmarkData.SHEET_NAME);
+        loaded.closeWorkbook();
+        return loaded;
+    }
+    
+    @Benchmark
+    public List<Map<String, String>> getTestDataAsMaps() {
+        return excel.getTestDataAsMaps();
+    }
+    
+    @Benchmark
+    public Map<String, String> getTestDataByName() {
+        // Worst case: the requested test case is on the last row
+        return excel.getTestDataByName(BenchmarkData.testCaseName(rows), BenchmarkData.TEST_CASE_COLUMN);
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public String getCellDataByColumnName() {
+        int row = ThreadLocalRandom.current().nextInt(1, rows + 1);
+        return excel.getCellData(row, "password");
+    }
+}
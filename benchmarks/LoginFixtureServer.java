@@ -0,0 +1,211 @@
+package com.automation.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded local web app serving a login fixture
+ * The page matches the LoginPage locators, with configurable latency and DOM churn
+ *
+ * Valid credentials are admin/admin123 and any userN/Pass@N pair (the shape of BenchmarkData)
+ */
+public class LoginFixtureServer implements AutoCloseable {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    static {
+        // HttpServer writes headers and body separately; with Nagle on, keep-alive requests stall ~40 ms on delayed ACKs
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+    
+    private final int latencyMillis;
+    private final int churnNodes;
+    private final int churnIntervalMillis;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    
+    /**
+     * Create a fixture server on the given port
+     * @param port Port to listen on (0 picks a free port)
+     * @param latencyMillis Artificial latency added to every response
+     * @param churnNodes Number of DOM nodes re-rendered on each churn tick (0 disables churn)
+     * @param churnIntervalMillis Interval between churn ticks
+     */
+    public LoginFixtureServer(int port, int latencyMillis, int churnNodes, int churnIntervalMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.churnNodes = churnNodes;
+        this.churnIntervalMillis = churnIntervalMillis;
+        
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "login-fixture");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/login", this::handleLoginPage);
+        server.createContext("/api/login", this::handleLoginApi);
+    }
+    
+    /**
+     * Start serving requests
+     */
+    public void start() {
+        server.start();
+    }
+    
+    /**
+     * Get the base URL of the running server
+     * @return Base URL without trailing slash
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+    
+    /**
+     * Get the login page URL
+     * @return Login page URL
+     */
+    public String getLoginUrl() {
+        return getBaseUrl() + "/login";
+    }
+    
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+    
+    /**
+     * Check fixture credentials
+     * @param username Username
+     * @param password Password
+     * @return true if the credentials are valid
+     */
+    public static boolean isValidLogin(String username, String password) {
+        if (username == null || password == null) {
+            return false;
+        }
+        if ("admin".equals(username)) {
+            return "admin123".equals(password);
+        }
+        return username.startsWith("user") && password.equals("Pass@" + username.substring(4));
+    }
+    
+    private void handleLoginPage(HttpExchange exchange) throws IOException {
+        simulateLatency();
+        send(exchange, 200, "text/html; charset=utf-8", loginPageHtml());
+    }
+    
+    private void handleLoginApi(HttpExchange exchange) throws IOException {
+        simulateLatency();
+        if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+            send(exchange, 405, "application/json", "{\"error\":\"Method not allowed\"}");
+            return;
+        }
+        
+        JsonNode body = MAPPER.readTree(exchange.getRequestBody());
+        String username = body.path("username").asText(null);
+        String password = body.path("password").asText(null);
+        
+        if (isValidLogin(username, password)) {
+            String token = UUID.randomUUID().toString();
+            exchange.getResponseHeaders().add("Set-Cookie", "SESSIONID=" + token + "; Path=/; HttpOnly");
+            send(exchange, 200, "application/json",
+                "{\"token\":\"" + token + "\",\"user\":\"" + username + "\"}");
+        } else {
+            send(exchange, 401, "application/json", "{\"error\":\"Invalid username or password\"}");
+        }
+    }
+    
+    private void simulateLatency() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+    
+    private String loginPageHtml() {
+        return "<!DOCTYPE html>\n"
+            + "<html><head><title>Login</title></head><body>\n"
+            + "<form id=\"loginForm\" onsubmit=\"return false;\">\n"
+            + "  <input id=\"username\" name=\"username\" type=\"text\"/>\n"
+            + "  <input id=\"password\" name=\"password\" type=\"password\"/>\n"
+            + "  <label><input id=\"rememberMe\" type=\"checkbox\"/> Remember me</label>\n"
+            + "  <button id=\"loginButton\" type=\"button\">Login</button>\n"
+            + "  <a href=\"#forgot\">Forgot Password?</a> <a href=\"#signup\">Sign Up</a>\n"
+            + "</form>\n"
+            + "<div id=\"messages\"></div>\n"
+            + "<div id=\"churn\"></div>\n"
+            + "<script>\n"
+            + "document.getElementById('loginButton').addEventListener('click', function () {\n"
+            + "  var payload = {username: document.getElementById('username').value,\n"
+            + "                 password: document.getElementById('password').value};\n"
+            + "  fetch('/api/login', {method: 'POST', headers: {'Content-Type': 'application/json'},\n"
+            + "                       body: JSON.stringify(payload)})\n"
+            + "    .then(function (r) { return r.json().then(function (b) { return {ok: r.ok, body: b}; }); })\n"
+            + "    .then(function (res) {\n"
+            + "      var messages = document.getElementById('messages');\n"
+            + "      messages.innerHTML = '';\n"
+            + "      var div = document.createElement('div');\n"
+            + "      div.className = res.ok ? 'success-message' : 'error-message';\n"
+            + "      div.textContent = res.ok ? 'Welcome, ' + res.body.user : res.body.error;\n"
+            + "      messages.appendChild(div);\n"
+            + "    });\n"
+            + "});\n"
+            + "var churnNodes = " + churnNodes + ";\n"
+            + "if (churnNodes > 0) {\n"
+            + "  setInterval(function () {\n"
+            + "    var churn = document.getElementById('churn');\n"
+            + "    churn.innerHTML = '';\n"
+            + "    for (var i = 0; i < churnNodes; i++) {\n"
+            + "      var span = document.createElement('span');\n"
+            + "      span.textContent = Math.random().toString(36).substring(2);\n"
+            + "      churn.appendChild(span);\n"
+            + "    }\n"
+            + "  }, " + churnIntervalMillis + ");\n"
+            + "}\n"
+            + "</script>\n"
+            + "</body></html>\n";
+    }
+    
+    /**
+     * Run the fixture standalone until the JVM is stopped
+     * Usage: LoginFixtureServer [port] [latencyMillis] [churnNodes] [churnIntervalMillis]
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int latency = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        int churnNodes = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        int churnInterval = args.length > 3 ? Integer.parseInt(args[3]) : 250;
+        
+        LoginFixtureServer fixture = new LoginFixtureServer(port, latency, churnNodes, churnInterval);
+        fixture.start();
+        System.out.println("Login fixture running at " + fixture.getLoginUrl());
+    }
+}
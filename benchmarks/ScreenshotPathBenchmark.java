@@ -0,0 +1,54 @@
+package com.automation.benchmarks;
+
+import com.automation.config.ConfigManager;
+import com.automation.utilities.ScreenshotUtility;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for building the screenshot destination path
+ * This runs on the test thread for every captured screenshot
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScreenshotPathBenchmark {
+    
+    private Path screenshotsDir;
+    
+    @Setup(Level.Trial)
+    public void createScreenshotsDir() throws IOException {
+        screenshotsDir = Files.createTempDirectory("screenshot-benchmark");
+        System.setProperty("screenshots.path", screenshotsDir.toString());
+        ConfigManager.reload();
+    }
+    
+    @TearDown(Level.Trial)
+    public void deleteScreenshotsDir() throws IOException {
+        FileUtils.deleteDirectory(screenshotsDir.toFile());
+    }
+    
+    @Benchmark
+    public String buildScreenshotPath() {
+        return ScreenshotUtility.buildScreenshotPath("FAILED_testValidLogin");
+    }
+}
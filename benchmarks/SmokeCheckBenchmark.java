@@ -0,0 +1,128 @@
+package com.automation.benchmarks;
+
+import com.automation.drivers.DriverManager;
+import com.automation.keywords.WebKeywords;
+import com.automation.pages.LoginPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Smoke-check rate of the in-JVM htmlunit driver compared with a real browser
+ * Each check opens the LoginFixtureServer page, runs LoginPage.verifyPageElements() and
+ * checks the title, the kind of test that needs no rendering. By default every check gets
+ * its own session, as an isolated test would; --session-per-check=false reuses one session.
+ * Run with -XX:ActiveProcessorCount=1 (and taskset) to measure the single-core rate.
+ *
+ * Usage: SmokeCheckBenchmark [--browsers=htmlunit,chrome] [--checks=2000] [--warmup=2000]
+ *                            [--session-per-check=true] [--out=target/smoke-check-results.json]
+ */
+public class SmokeCheckBenchmark {
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int checks = Integer.parseInt(options.getOrDefault("checks", "2000"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "2000"));
+        boolean sessionPerCheck = Boolean.parseBoolean(options.getOrDefault("session-per-check", "true"));
+        String out = options.getOrDefault("out", "target/smoke-check-results.json");
+        
+        System.setProperty("headless", "true");
+        List<Map<String, Object>> results = new ArrayList<>();
+        try (LoginFixtureServer fixture = new LoginFixtureServer(0, 0, 0, 250)) {
+            fixture.start();
+            for (String browser : options.getOrDefault("browsers", "htmlunit,chrome").split(",")) {
+                String name = browser.trim();
+                // Real browsers take seconds per session; a short warmup is enough for them
+                int browserWarmup = DriverManager.isLightweight(name) ? warmup : Math.min(warmup, 3);
+                int browserChecks = DriverManager.isLightweight(name) ? checks : Math.min(checks, 50);
+                run(fixture, name, browserWarmup, sessionPerCheck);
+                Map<String, Object> result = run(fixture, name, browserChecks, sessionPerCheck);
+                results.add(result);
+                System.out.println(String.format(
+                    "browser=%s checks=%s errors=%s checks/s=%.1f p50=%.2fms p99=%.2fms sessionPerCheck=%s",
+                    result.get("browser"), result.get("checks"), result.get("errors"), result.get("checksPerSecond"),
+                    result.get("latencyP50Millis"), result.get("latencyP99Millis"), sessionPerCheck));
+            }
+        }
+        
+        Path outPath = Paths.get(out);
+        if (outPath.getParent() != null) {
+            Files.createDirectories(outPath.getParent());
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(outPath.toFile(), results);
+        System.out.println("Results written to " + outPath.toAbsolutePath());
+    }
+    
+    private static Map<String, Object> run(LoginFixtureServer fixture, String browser, int checks,
+                                           boolean sessionPerCheck) {
+        List<Long> latencies = new ArrayList<>(checks);
+        int errors = 0;
+        long cpuStart = ProcessHandle.current().info().totalCpuDuration().map(d -> d.toNanos()).orElse(0L);
+        long wallStart = System.nanoTime();
+        try {
+            for (int i = 0; i < checks; i++) {
+                long start = System.nanoTime();
+                try {
+                    if (sessionPerCheck || DriverManager.getDriver() == null) {
+                        DriverManager.initializeDriver(browser);
+                    }
+                    WebKeywords.navigateToURL(fixture.getLoginUrl());
+                    if (!LoginPage.verifyPageElements() || !"Login".equals(WebKeywords.getPageTitle())) {
+                        throw new IllegalStateException("Login page check failed");
+                    }
+                    latencies.add(System.nanoTime() - start);
+                } catch (Exception e) {
+                    if (errors++ == 0) {
+                        System.err.println(browser + " check failed: " + e.getMessage());
+                    }
+                } finally {
+                    if (sessionPerCheck) {
+                        DriverManager.quitDriver();
+                    }
+                }
+            }
+        } finally {
+            DriverManager.quitDriver();
+        }
+        long wallNanos = Math.max(1, System.nanoTime() - wallStart);
+        long cpuNanos = ProcessHandle.current().info().totalCpuDuration().map(d -> d.toNanos()).orElse(0L) - cpuStart;
+        
+        Collections.sort(latencies);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("browser", browser);
+        result.put("sessionPerCheck", sessionPerCheck);
+        result.put("checks", latencies.size());
+        result.put("errors", errors);
+        result.put("checksPerSecond", latencies.size() * 1_000_000_000.0 / wallNanos);
+        // JVM CPU only: for real browsers most of the cost is in the browser and driver processes
+        result.put("jvmCpuMillisPerCheck", latencies.isEmpty() ? 0 : cpuNanos / 1_000_000.0 / latencies.size());
+        result.put("latencyP50Millis", percentile(latencies, 50));
+        result.put("latencyP99Millis", percentile(latencies, 99));
+        return result;
+    }
+    
+    private static double percentile(List<Long> sortedNanos, int percentile) {
+        if (sortedNanos.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(0, index)) / 1_000_000.0;
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,238 @@
+package com.automation.benchmarks;
+
+import com.automation.drivers.DriverManager;
+import com.automation.keywords.WebKeywords;
+import com.automation.pages.LoginPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end throughput harness for the login flow against LoginFixtureServer
+ * Runs the flow in headless Chrome at each thread count and reports tests per minute,
+ * per-test latency distribution and browser memory
+ *
+ * Usage: ThroughputBenchmark [--threads=1,2,4] [--duration=60] [--latency=50]
+ *                            [--churn-nodes=0] [--churn-interval=250] [--browser=chrome]
+ *                            [--out=target/throughput-results.json]
+ */
+public class ThroughputBenchmark {
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String browser = options.getOrDefault("browser", "chrome");
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int latency = Integer.parseInt(options.getOrDefault("latency", "50"));
+        int churnNodes = Integer.parseInt(options.getOrDefault("churn-nodes", "0"));
+        int churnInterval = Integer.parseInt(options.getOrDefault("churn-interval", "250"));
+        String out = options.getOrDefault("out", "target/throughput-results.json");
+        
+        // Must be set before the first ConfigManager lookup
+        System.setProperty("headless", "true");
+        
+        List<Map<String, Object>> results = new ArrayList<>();
+        try (LoginFixtureServer fixture = new LoginFixtureServer(0, latency, churnNodes, churnInterval)) {
+            fixture.start();
+            for (String threads : options.getOrDefault("threads", "1,2,4").split(",")) {
+                Map<String, Object> result = run(fixture, browser, Integer.parseInt(threads.trim()), durationSeconds);
+                result.put("latencyMillis", latency);
+                result.put("churnNodes", churnNodes);
+                results.add(result);
+                printResult(result);
+            }
+        }
+        
+        Path outPath = Paths.get(out);
+        if (outPath.getParent() != null) {
+            Files.createDirectories(outPath.getParent());
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(outPath.toFile(), results);
+        System.out.println("Results written to " + outPath.toAbsolutePath());
+    }
+    
+    /**
+     * Run the login flow on the given number of threads for a fixed duration
+     * Browser launch is excluded from the measured window
+     */
+    private static Map<String, Object> run(LoginFixtureServer fixture, String browser, int threads,
+                                           int durationSeconds) throws Exception {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger errors = new AtomicInteger();
+        AtomicLong launchNanos = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] window = new long[2];
+        // The measured window opens once every browser is up
+        CyclicBarrier ready = new CyclicBarrier(threads + 1, () -> {
+            window[0] = System.nanoTime();
+            window[1] = window[0] + TimeUnit.SECONDS.toNanos(durationSeconds);
+        });
+        
+        for (int t = 0; t < threads; t++) {
+            int workerId = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    long launchStart = System.nanoTime();
+                    boolean launched = false;
+                    try {
+                        DriverManager.initializeDriver(browser);
+                        launchNanos.addAndGet(System.nanoTime() - launchStart);
+                        launched = true;
+                    } catch (Exception e) {
+                        System.err.println("Worker " + workerId + " could not start " + browser + ": " + e.getMessage());
+                    }
+                    ready.await();
+                    if (launched) {
+                        runLoginFlows(fixture, workerId, window, latencies, errors);
+                    }
+                } catch (Exception e) {
+                    System.err.println("Worker " + workerId + " failed: " + e.getMessage());
+                } finally {
+                    DriverManager.quitDriver();
+                    done.countDown();
+                }
+            }, "throughput-worker-" + t);
+            worker.start();
+        }
+        
+        ready.await();
+        MemorySampler memory = new MemorySampler();
+        memory.start();
+        done.await();
+        long measuredNanos = Math.max(1, System.nanoTime() - window[0]);
+        memory.stop();
+        
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("threads", threads);
+        result.put("tests", sorted.size());
+        result.put("errors", errors.get());
+        result.put("testsPerMinute", sorted.size() * 60_000_000_000.0 / measuredNanos);
+        result.put("avgDriverLaunchMillis", launchNanos.get() / 1_000_000.0 / threads);
+        result.put("latencyP50Millis", percentile(sorted, 50));
+        result.put("latencyP90Millis", percentile(sorted, 90));
+        result.put("latencyP99Millis", percentile(sorted, 99));
+        result.put("latencyMaxMillis", sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1) / 1_000_000.0);
+        result.put("browserRssPeakMb", memory.getPeakBytes() / (1024.0 * 1024.0));
+        result.put("browserRssAvgMb", memory.getAverageBytes() / (1024.0 * 1024.0));
+        return result;
+    }
+    
+    private static void runLoginFlows(LoginFixtureServer fixture, int workerId, long[] window,
+                                      List<Long> latencies, AtomicInteger errors) {
+        int iteration = 0;
+        while (System.nanoTime() < window[1]) {
+            // Alternate valid and invalid logins, as a data-driven login suite would
+            boolean valid = iteration++ % 2 == 0;
+            String username = "user" + (workerId * 100_000 + iteration);
+            String password = valid ? "Pass@" + username.substring(4) : "wrong";
+            
+            long start = System.nanoTime();
+            try {
+                WebKeywords.navigateToURL(fixture.getLoginUrl());
+                LoginPage.performLogin(username, password);
+                String message = valid ? LoginPage.getSuccessMessage() : LoginPage.getErrorMessage();
+                if (message.isEmpty()) {
+                    throw new IllegalStateException("Empty login message");
+                }
+                latencies.add(System.nanoTime() - start);
+            } catch (Exception e) {
+                errors.incrementAndGet();
+            }
+        }
+    }
+    
+    private static double percentile(List<Long> sortedNanos, int percentile) {
+        if (sortedNanos.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(0, index)) / 1_000_000.0;
+    }
+    
+    private static void printResult(Map<String, Object> result) {
+        System.out.println(String.format(
+            "threads=%s tests=%s errors=%s tests/min=%.1f p50=%.1fms p90=%.1fms p99=%.1fms peakRss=%.1fMB",
+            result.get("threads"), result.get("tests"), result.get("errors"), result.get("testsPerMinute"),
+            result.get("latencyP50Millis"), result.get("latencyP90Millis"), result.get("latencyP99Millis"),
+            result.get("browserRssPeakMb")));
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+    
+    /**
+     * Samples the resident memory of every process started by this JVM
+     * (drivers and browsers) once per second; Linux only, reports 0 elsewhere
+     */
+    static class MemorySampler {
+        private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        private final AtomicLong peakBytes = new AtomicLong();
+        private final AtomicLong totalBytes = new AtomicLong();
+        private final AtomicInteger samples = new AtomicInteger();
+        
+        void start() {
+            scheduler.scheduleAtFixedRate(this::sample, 0, 1, TimeUnit.SECONDS);
+        }
+        
+        void stop() throws InterruptedException {
+            scheduler.shutdown();
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        
+        long getPeakBytes() {
+            return peakBytes.get();
+        }
+        
+        long getAverageBytes() {
+            return samples.get() == 0 ? 0 : totalBytes.get() / samples.get();
+        }
+        
+        private void sample() {
+            long rss = ProcessHandle.current().descendants()
+                .mapToLong(process -> readRssBytes(process.pid()))
+                .sum();
+            peakBytes.accumulateAndGet(rss, Math::max);
+            totalBytes.addAndGet(rss);
+            samples.incrementAndGet();
+        }
+        
+        private static long readRssBytes(long pid) {
+            File status = new File("/proc/" + pid + "/status");
+            try {
+                for (String line : Files.readAllLines(status.toPath())) {
+                    if (line.startsWith("VmRSS:")) {
+                        return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                // Process exited between listing and reading, or not on Linux
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.automation.benchmarks;
+
+import com.automation.keywords.WebKeywords;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for WebKeywords locator resolution
+ * Keyword-driven steps resolve a locator string on every call
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebKeywordsBenchmark {
+    
+    @Param({"id", "xpath", "cssSelector", "partialLinkText"})
+    public String locatorType;
+    
+    @Benchmark
+    public By getByLocator() {
+        return WebKeywords.getByLocator(locatorType, "loginButton");
+    }
+}